@@ -0,0 +1,98 @@
+package danogl;
+
+import danogl.collisions.GameObjectCollection;
+import danogl.gui.ImageReader;
+import danogl.gui.SoundReader;
+import danogl.gui.UserInputListener;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.Camera;
+import danogl.util.Vector2;
+
+/**
+ * The base of a game, as in danogl. The stub has no window, so a game built on it can be
+ * initialized and updated by hand, as the headless runner and the benchmarks do, but not run.
+ */
+public class GameManager {
+    private GameObjectCollection gameObjects = new GameObjectCollection();
+    private Camera camera = null;
+
+    /**
+     * Creates a game with a default window.
+     */
+    public GameManager() {
+    }
+
+    /**
+     * Creates a game.
+     *
+     * @param windowTitle      The title of the window.
+     * @param windowDimensions The dimensions of the window.
+     */
+    public GameManager(String windowTitle, Vector2 windowDimensions) {
+    }
+
+    /**
+     * Initializes the game, with an empty collection of game objects.
+     *
+     * @param imageReader      Reads images from disk.
+     * @param soundReader      Reads sounds from disk.
+     * @param inputListener    Tells which keys are pressed.
+     * @param windowController Controls the window.
+     */
+    public void initializeGame(ImageReader imageReader, SoundReader soundReader,
+                               UserInputListener inputListener,
+                               WindowController windowController) {
+        gameObjects = new GameObjectCollection();
+    }
+
+    /**
+     * Updates every game object, then the camera.
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last update.
+     */
+    public void update(float deltaTime) {
+        for (GameObject gameObject : gameObjects) {
+            gameObject.update(deltaTime);
+        }
+        if (camera != null) {
+            camera.update(deltaTime);
+        }
+    }
+
+    /**
+     * Opens the window and runs the game until the window is closed.
+     *
+     * @throws UnsupportedOperationException Always, since the stub has no window.
+     */
+    public void run() {
+        throw new UnsupportedOperationException(
+                "The danogl stub has no window. Put the danogl jar in lib/ to play the game.");
+    }
+
+    /**
+     * Returns the game objects.
+     *
+     * @return The game objects.
+     */
+    public GameObjectCollection gameObjects() {
+        return gameObjects;
+    }
+
+    /**
+     * Returns the camera.
+     *
+     * @return The camera, or null if there is none.
+     */
+    public Camera camera() {
+        return camera;
+    }
+
+    /**
+     * Sets the camera.
+     *
+     * @param camera The camera, or null for none.
+     */
+    public void setCamera(Camera camera) {
+        this.camera = camera;
+    }
+}
@@ -0,0 +1,232 @@
+package danogl;
+
+import danogl.collisions.Collision;
+import danogl.components.Component;
+import danogl.components.CoordinateSpace;
+import danogl.components.GameObjectPhysics;
+import danogl.components.RendererComponent;
+import danogl.components.Transform;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An object of the game, as in danogl. Every update runs the object's components and moves it
+ * by its velocity. The stub neither accelerates objects nor detects collisions.
+ */
+public class GameObject {
+    private final Transform transform;
+    private final RendererComponent renderer;
+    private final GameObjectPhysics physics = new GameObjectPhysics();
+    private final List<Component> components = new ArrayList<>();
+    private Vector2 dimensions;
+    private String tag = "";
+    private CoordinateSpace coordinateSpace = CoordinateSpace.WORLD_COORDINATES;
+
+    /**
+     * Creates a game object.
+     *
+     * @param topLeftCorner The position of the top left corner.
+     * @param dimensions    The width and height.
+     * @param renderable    The renderable to draw, or null to draw nothing.
+     */
+    public GameObject(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable) {
+        this.transform = new Transform(topLeftCorner);
+        this.dimensions = dimensions;
+        this.renderer = new RendererComponent(renderable);
+    }
+
+    /**
+     * Updates the object: runs its components, then moves it by its velocity.
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last update.
+     */
+    public void update(float deltaTime) {
+        for (int i = 0; i < components.size(); i++) {
+            components.get(i).update(deltaTime);
+        }
+        Vector2 velocity = transform.getVelocity();
+        if (velocity.x() != 0 || velocity.y() != 0) {
+            Vector2 topLeftCorner = transform.getTopLeftCorner();
+            transform.setTopLeftCorner(topLeftCorner.x() + velocity.x() * deltaTime,
+                    topLeftCorner.y() + velocity.y() * deltaTime);
+        }
+    }
+
+    /**
+     * Called when the object starts colliding with another.
+     *
+     * @param other     The other object.
+     * @param collision The collision.
+     */
+    public void onCollisionEnter(GameObject other, Collision collision) {
+    }
+
+    /**
+     * Checks whether the object collides with another.
+     *
+     * @param other The other object.
+     * @return Whether the objects collide.
+     */
+    public boolean shouldCollideWith(GameObject other) {
+        return true;
+    }
+
+    /**
+     * Adds a component, which is run on every update.
+     *
+     * @param component The component.
+     */
+    public void addComponent(Component component) {
+        components.add(component);
+    }
+
+    /**
+     * Removes a component.
+     *
+     * @param component The component.
+     */
+    public void removeComponent(Component component) {
+        components.remove(component);
+    }
+
+    /**
+     * Returns the renderer of the object.
+     *
+     * @return The renderer.
+     */
+    public RendererComponent renderer() {
+        return renderer;
+    }
+
+    /**
+     * Returns the position and motion of the object.
+     *
+     * @return The transform.
+     */
+    public Transform transform() {
+        return transform;
+    }
+
+    /**
+     * Returns the physical properties of the object.
+     *
+     * @return The physics.
+     */
+    public GameObjectPhysics physics() {
+        return physics;
+    }
+
+    /**
+     * Returns the tag of the object.
+     *
+     * @return The tag, empty by default.
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * Sets the tag of the object.
+     *
+     * @param tag The tag.
+     */
+    public void setTag(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Returns the position of the top left corner.
+     *
+     * @return The position.
+     */
+    public Vector2 getTopLeftCorner() {
+        return transform.getTopLeftCorner();
+    }
+
+    /**
+     * Sets the position of the top left corner.
+     *
+     * @param topLeftCorner The position.
+     */
+    public void setTopLeftCorner(Vector2 topLeftCorner) {
+        transform.setTopLeftCorner(topLeftCorner);
+    }
+
+    /**
+     * Returns the position of the center.
+     *
+     * @return The position.
+     */
+    public Vector2 getCenter() {
+        Vector2 topLeftCorner = transform.getTopLeftCorner();
+        return new Vector2(topLeftCorner.x() + dimensions.x() / 2,
+                topLeftCorner.y() + dimensions.y() / 2);
+    }
+
+    /**
+     * Moves the object so its center is at a position.
+     *
+     * @param center The position.
+     */
+    public void setCenter(Vector2 center) {
+        transform.setTopLeftCorner(center.x() - dimensions.x() / 2,
+                center.y() - dimensions.y() / 2);
+    }
+
+    /**
+     * Returns the width and height.
+     *
+     * @return The dimensions.
+     */
+    public Vector2 getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Sets the width and height, keeping the top left corner.
+     *
+     * @param dimensions The dimensions.
+     */
+    public void setDimensions(Vector2 dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    /**
+     * Returns the velocity.
+     *
+     * @return The velocity, in pixels per second.
+     */
+    public Vector2 getVelocity() {
+        return transform.getVelocity();
+    }
+
+    /**
+     * Sets the velocity.
+     *
+     * @param velocity The velocity, in pixels per second.
+     */
+    public void setVelocity(Vector2 velocity) {
+        transform.setVelocity(velocity);
+    }
+
+    /**
+     * Returns the space the position of the object is given in.
+     *
+     * @return The coordinate space.
+     */
+    public CoordinateSpace getCoordinateSpace() {
+        return coordinateSpace;
+    }
+
+    /**
+     * Sets the space the position of the object is given in.
+     *
+     * @param coordinateSpace The coordinate space.
+     */
+    public void setCoordinateSpace(CoordinateSpace coordinateSpace) {
+        this.coordinateSpace = coordinateSpace;
+    }
+}
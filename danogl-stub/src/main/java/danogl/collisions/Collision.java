@@ -0,0 +1,28 @@
+package danogl.collisions;
+
+import danogl.util.Vector2;
+
+/**
+ * A collision between two game objects, as in danogl.
+ */
+public class Collision {
+    private final Vector2 normal;
+
+    /**
+     * Creates a collision.
+     *
+     * @param normal The normal of the collision.
+     */
+    public Collision(Vector2 normal) {
+        this.normal = normal;
+    }
+
+    /**
+     * Returns the normal of the collision.
+     *
+     * @return The normal.
+     */
+    public Vector2 getNormal() {
+        return normal;
+    }
+}
@@ -0,0 +1,104 @@
+package danogl.collisions;
+
+import danogl.GameObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * The game objects of a game, by layer, as in danogl. Iterating over the collection visits the
+ * layers from the lowest to the highest.
+ */
+public class GameObjectCollection implements Iterable<GameObject> {
+    private final Map<Integer, List<GameObject>> layers = new TreeMap<>();
+    private final LayerManager layerManager = new LayerManager();
+
+    /**
+     * Adds a game object to the default layer.
+     *
+     * @param gameObject The game object.
+     */
+    public void addGameObject(GameObject gameObject) {
+        addGameObject(gameObject, Layer.DEFAULT);
+    }
+
+    /**
+     * Adds a game object to a layer.
+     *
+     * @param gameObject The game object.
+     * @param layerId    The layer.
+     */
+    public void addGameObject(GameObject gameObject, int layerId) {
+        layers.computeIfAbsent(layerId, layer -> new ArrayList<>()).add(gameObject);
+    }
+
+    /**
+     * Removes a game object from the default layer.
+     *
+     * @param gameObject The game object.
+     * @return Whether the object was in the layer.
+     */
+    public boolean removeGameObject(GameObject gameObject) {
+        return removeGameObject(gameObject, Layer.DEFAULT);
+    }
+
+    /**
+     * Removes a game object from a layer.
+     *
+     * @param gameObject The game object.
+     * @param layerId    The layer.
+     * @return Whether the object was in the layer.
+     */
+    public boolean removeGameObject(GameObject gameObject, int layerId) {
+        List<GameObject> layer = layers.get(layerId);
+        return layer != null && layer.remove(gameObject);
+    }
+
+    /**
+     * Returns the game objects of a layer.
+     *
+     * @param layerId The layer.
+     * @return The game objects of the layer, in the order they were added.
+     */
+    public Iterable<GameObject> objectsInLayer(int layerId) {
+        return Collections.unmodifiableList(layers.getOrDefault(layerId, List.of()));
+    }
+
+    /**
+     * Returns which layers collide with which.
+     *
+     * @return The layer settings.
+     */
+    public LayerManager layers() {
+        return layerManager;
+    }
+
+    @Override
+    public Iterator<GameObject> iterator() {
+        Iterator<List<GameObject>> layerIterator = layers.values().iterator();
+        return new Iterator<>() {
+            private Iterator<GameObject> objects = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!objects.hasNext() && layerIterator.hasNext()) {
+                    objects = layerIterator.next().iterator();
+                }
+                return objects.hasNext();
+            }
+
+            @Override
+            public GameObject next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return objects.next();
+            }
+        };
+    }
+}
@@ -0,0 +1,21 @@
+package danogl.collisions;
+
+/**
+ * The standard layers of the game objects, as in danogl. Objects are drawn from the lowest
+ * layer to the highest.
+ */
+public final class Layer {
+    /** The layer of the background. */
+    public static final int BACKGROUND = -200;
+    /** The layer of objects that stay put and others collide with. */
+    public static final int STATIC_OBJECTS = -100;
+    /** The default layer. */
+    public static final int DEFAULT = 0;
+    /** The layer of objects drawn over the default ones. */
+    public static final int FOREGROUND = 100;
+    /** The layer of the user interface. */
+    public static final int UI = 200;
+
+    private Layer() {
+    }
+}
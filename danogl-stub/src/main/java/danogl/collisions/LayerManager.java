@@ -0,0 +1,52 @@
+package danogl.collisions;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Which layers collide with which, as in danogl. The stub has no collisions, so it only stores
+ * the settings. By default, the default layer collides with itself and with the static objects.
+ */
+public class LayerManager {
+    private final Set<Long> collidingPairs = new HashSet<>();
+
+    /**
+     * Creates the default settings.
+     */
+    public LayerManager() {
+        shouldLayersCollide(Layer.DEFAULT, Layer.DEFAULT, true);
+        shouldLayersCollide(Layer.DEFAULT, Layer.STATIC_OBJECTS, true);
+    }
+
+    /**
+     * Sets whether the objects of two layers collide.
+     *
+     * @param layer1  A layer.
+     * @param layer2  Another layer, or the same one.
+     * @param collide Whether their objects collide.
+     */
+    public void shouldLayersCollide(int layer1, int layer2, boolean collide) {
+        if (collide) {
+            collidingPairs.add(pair(layer1, layer2));
+        } else {
+            collidingPairs.remove(pair(layer1, layer2));
+        }
+    }
+
+    /**
+     * Checks whether the objects of two layers collide.
+     *
+     * @param layer1 A layer.
+     * @param layer2 Another layer, or the same one.
+     * @return Whether their objects collide.
+     */
+    public boolean doLayersCollide(int layer1, int layer2) {
+        return collidingPairs.contains(pair(layer1, layer2));
+    }
+
+    private static long pair(int layer1, int layer2) {
+        int low = Math.min(layer1, layer2);
+        int high = Math.max(layer1, layer2);
+        return ((long) low << Integer.SIZE) | (high & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,14 @@
+package danogl.components;
+
+/**
+ * Something a game object does on every update, as in danogl.
+ */
+@FunctionalInterface
+public interface Component {
+    /**
+     * Updates the component.
+     *
+     * @param deltaTime The time elapsed, in seconds, since the last update.
+     */
+    void update(float deltaTime);
+}
@@ -0,0 +1,11 @@
+package danogl.components;
+
+/**
+ * The space a game object's position is given in, as in danogl.
+ */
+public enum CoordinateSpace {
+    /** Positions in the world, which the camera moves over. */
+    WORLD_COORDINATES,
+    /** Positions on the screen, which stay put when the camera moves. */
+    CAMERA_COORDINATES
+}
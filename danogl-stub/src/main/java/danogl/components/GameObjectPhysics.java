@@ -0,0 +1,51 @@
+package danogl.components;
+
+import danogl.util.Vector2;
+
+/**
+ * The physical properties of a game object, as in danogl. The stub has no collisions, so they
+ * are only stored.
+ */
+public class GameObjectPhysics {
+    /** The mass of an object that collisions never move. */
+    public static final float IMMOVABLE_MASS = 0;
+    private float mass = 1;
+    private Vector2 preventedIntersectionDirection = null;
+
+    /**
+     * Keeps other objects from entering the object from a direction.
+     *
+     * @param direction The direction, {@link Vector2#ZERO} for every direction, or null for
+     *                  none.
+     */
+    public void preventIntersectionsFromDirection(Vector2 direction) {
+        preventedIntersectionDirection = direction;
+    }
+
+    /**
+     * Returns the direction other objects are kept from entering the object from.
+     *
+     * @return The direction, or null for none.
+     */
+    public Vector2 getPreventedIntersectionDirection() {
+        return preventedIntersectionDirection;
+    }
+
+    /**
+     * Sets the mass of the object.
+     *
+     * @param mass The mass, or IMMOVABLE_MASS.
+     */
+    public void setMass(float mass) {
+        this.mass = mass;
+    }
+
+    /**
+     * Returns the mass of the object.
+     *
+     * @return The mass.
+     */
+    public float getMass() {
+        return mass;
+    }
+}
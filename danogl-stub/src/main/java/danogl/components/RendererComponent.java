@@ -0,0 +1,94 @@
+package danogl.components;
+
+import danogl.gui.rendering.Renderable;
+
+/**
+ * How a game object is drawn, as in danogl. The stub draws nothing, so it only stores it.
+ */
+public class RendererComponent {
+    private Renderable renderable;
+    private float opaqueness = 1;
+    private float renderableAngle = 0;
+    private boolean flippedHorizontally = false;
+
+    /**
+     * Creates a renderer.
+     *
+     * @param renderable The renderable to draw, or null to draw nothing.
+     */
+    public RendererComponent(Renderable renderable) {
+        this.renderable = renderable;
+    }
+
+    /**
+     * Returns the renderable that is drawn.
+     *
+     * @return The renderable, or null if nothing is drawn.
+     */
+    public Renderable getRenderable() {
+        return renderable;
+    }
+
+    /**
+     * Sets the renderable to draw.
+     *
+     * @param renderable The renderable, or null to draw nothing.
+     */
+    public void setRenderable(Renderable renderable) {
+        this.renderable = renderable;
+    }
+
+    /**
+     * Returns how opaque the object is drawn.
+     *
+     * @return The opaqueness, between 0 and 1.
+     */
+    public float getOpaqueness() {
+        return opaqueness;
+    }
+
+    /**
+     * Sets how opaque the object is drawn.
+     *
+     * @param opaqueness The opaqueness, between 0 and 1.
+     */
+    public void setOpaqueness(float opaqueness) {
+        this.opaqueness = opaqueness;
+    }
+
+    /**
+     * Returns the angle the renderable is drawn at.
+     *
+     * @return The angle, in degrees.
+     */
+    public float getRenderableAngle() {
+        return renderableAngle;
+    }
+
+    /**
+     * Sets the angle the renderable is drawn at.
+     *
+     * @param renderableAngle The angle, in degrees.
+     */
+    public void setRenderableAngle(float renderableAngle) {
+        this.renderableAngle = renderableAngle;
+    }
+
+    /**
+     * Returns whether the renderable is drawn mirrored.
+     *
+     * @return Whether the renderable is flipped horizontally.
+     */
+    public boolean isFlippedHorizontally() {
+        return flippedHorizontally;
+    }
+
+    /**
+     * Sets whether the renderable is drawn mirrored.
+     *
+     * @param flippedHorizontally Whether the renderable is flipped horizontally.
+     */
+    public void setIsFlippedHorizontally(boolean flippedHorizontally) {
+        this.flippedHorizontally = flippedHorizontally;
+    }
+}
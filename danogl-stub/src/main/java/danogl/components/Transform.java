@@ -0,0 +1,112 @@
+package danogl.components;
+
+import danogl.util.Vector2;
+
+/**
+ * The position and motion of a game object, as in danogl.
+ */
+public class Transform {
+    private Vector2 topLeftCorner;
+    private Vector2 velocity = Vector2.ZERO;
+    private Vector2 acceleration = Vector2.ZERO;
+
+    /**
+     * Creates a transform at rest.
+     *
+     * @param topLeftCorner The position of the top left corner.
+     */
+    public Transform(Vector2 topLeftCorner) {
+        this.topLeftCorner = topLeftCorner;
+    }
+
+    /**
+     * Returns the position of the top left corner.
+     *
+     * @return The position.
+     */
+    public Vector2 getTopLeftCorner() {
+        return topLeftCorner;
+    }
+
+    /**
+     * Sets the position of the top left corner.
+     *
+     * @param topLeftCorner The position.
+     */
+    public void setTopLeftCorner(Vector2 topLeftCorner) {
+        this.topLeftCorner = topLeftCorner;
+    }
+
+    /**
+     * Sets the position of the top left corner.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     */
+    public void setTopLeftCorner(float x, float y) {
+        this.topLeftCorner = new Vector2(x, y);
+    }
+
+    /**
+     * Returns the velocity.
+     *
+     * @return The velocity, in pixels per second.
+     */
+    public Vector2 getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * Sets the velocity.
+     *
+     * @param velocity The velocity, in pixels per second.
+     */
+    public void setVelocity(Vector2 velocity) {
+        this.velocity = velocity;
+    }
+
+    /**
+     * Sets the horizontal velocity, keeping the vertical one.
+     *
+     * @param x The horizontal velocity, in pixels per second.
+     */
+    public void setVelocityX(float x) {
+        this.velocity = new Vector2(x, velocity.y());
+    }
+
+    /**
+     * Sets the vertical velocity, keeping the horizontal one.
+     *
+     * @param y The vertical velocity, in pixels per second.
+     */
+    public void setVelocityY(float y) {
+        this.velocity = new Vector2(velocity.x(), y);
+    }
+
+    /**
+     * Returns the acceleration.
+     *
+     * @return The acceleration, in pixels per second squared.
+     */
+    public Vector2 getAcceleration() {
+        return acceleration;
+    }
+
+    /**
+     * Sets the acceleration.
+     *
+     * @param acceleration The acceleration, in pixels per second squared.
+     */
+    public void setAcceleration(Vector2 acceleration) {
+        this.acceleration = acceleration;
+    }
+
+    /**
+     * Sets the vertical acceleration, keeping the horizontal one.
+     *
+     * @param y The vertical acceleration, in pixels per second squared.
+     */
+    public void setAccelerationY(float y) {
+        this.acceleration = new Vector2(acceleration.x(), y);
+    }
+}
@@ -0,0 +1,113 @@
+package danogl.components;
+
+import danogl.GameObject;
+
+import java.util.function.Consumer;
+
+/**
+ * Moves a value from an initial to a final value over time, as in danogl. The transition adds
+ * itself to the game object it is created for, and is run by that object's updates.
+ *
+ * @param <T> The type of the value.
+ */
+public class Transition<T> implements Component {
+    /** Interpolates floats linearly. */
+    public static final Interpolator<Float> LINEAR_INTERPOLATOR_FLOAT =
+            (start, end, t) -> start + (end - start) * t;
+    /** Interpolates floats along a cubic curve that starts and ends slowly. */
+    public static final Interpolator<Float> CUBIC_INTERPOLATOR_FLOAT =
+            (start, end, t) -> start + (end - start) * t * t * (3 - 2 * t);
+    private final Consumer<T> setValueCallback;
+    private final T initialValue;
+    private final T finalValue;
+    private final Interpolator<T> interpolator;
+    private final float transitionTime;
+    private final TransitionType transitionType;
+    private final Runnable onReachingFinalValue;
+    private float elapsed = 0;
+    private boolean forward = true;
+    private boolean done = false;
+
+    /**
+     * How a transition goes on once it reaches its final value.
+     */
+    public enum TransitionType {
+        /** Stops at the final value. */
+        TRANSITION_ONCE,
+        /** Starts over from the initial value. */
+        TRANSITION_LOOP,
+        /** Goes back to the initial value, and then forth again. */
+        TRANSITION_BACK_AND_FORTH
+    }
+
+    /**
+     * Computes a value between two others.
+     *
+     * @param <T> The type of the values.
+     */
+    @FunctionalInterface
+    public interface Interpolator<T> {
+        /**
+         * Computes a value between two others.
+         *
+         * @param start The value at t = 0.
+         * @param end   The value at t = 1.
+         * @param t     How far the value is from start to end, between 0 and 1.
+         * @return The value.
+         */
+        T interpolate(T start, T end, float t);
+    }
+
+    /**
+     * Creates a transition and adds it to a game object.
+     *
+     * @param gameObjectToUpdateThrough The game object whose updates run the transition.
+     * @param setValueCallback          Receives the value on every update.
+     * @param initialValue              The initial value.
+     * @param finalValue                The final value.
+     * @param interpolator              Computes the values in between.
+     * @param transitionTime            The time from the initial to the final value, in
+     *                                  seconds.
+     * @param transitionType            How the transition goes on at the final value.
+     * @param onReachingFinalValue      Runs whenever the final value is reached, or null.
+     */
+    public Transition(GameObject gameObjectToUpdateThrough, Consumer<T> setValueCallback,
+                      T initialValue, T finalValue, Interpolator<T> interpolator,
+                      float transitionTime, TransitionType transitionType,
+                      Runnable onReachingFinalValue) {
+        this.setValueCallback = setValueCallback;
+        this.initialValue = initialValue;
+        this.finalValue = finalValue;
+        this.interpolator = interpolator;
+        this.transitionTime = transitionTime;
+        this.transitionType = transitionType;
+        this.onReachingFinalValue = onReachingFinalValue;
+        setValueCallback.accept(initialValue);
+        gameObjectToUpdateThrough.addComponent(this);
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        if (done) {
+            return;
+        }
+        elapsed += deltaTime;
+        if (elapsed >= transitionTime) {
+            if (forward && onReachingFinalValue != null) {
+                onReachingFinalValue.run();
+            }
+            if (transitionType == TransitionType.TRANSITION_ONCE) {
+                setValueCallback.accept(finalValue);
+                done = true;
+                return;
+            }
+            elapsed = transitionTime > 0 ? elapsed % transitionTime : 0;
+            if (transitionType == TransitionType.TRANSITION_BACK_AND_FORTH) {
+                forward = !forward;
+            }
+        }
+        float t = transitionTime > 0 ? elapsed / transitionTime : 1;
+        setValueCallback.accept(interpolator.interpolate(initialValue, finalValue,
+                forward ? t : 1 - t));
+    }
+}
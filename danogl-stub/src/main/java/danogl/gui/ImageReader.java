@@ -0,0 +1,37 @@
+package danogl.gui;
+
+import danogl.gui.rendering.ImageRenderable;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Reads images from disk, as in danogl. The stub decodes them as stored.
+ */
+public class ImageReader {
+    /**
+     * Creates an image reader.
+     *
+     * @param windowController The window the images are drawn in.
+     */
+    public ImageReader(WindowController windowController) {
+    }
+
+    /**
+     * Reads an image from disk.
+     *
+     * @param imageFilePath   The path of the image.
+     * @param useTransparency Whether the top left pixel's color is drawn as transparent;
+     *                        ignored by the stub.
+     * @return The image.
+     */
+    public ImageRenderable readImage(String imageFilePath, boolean useTransparency) {
+        try {
+            return new ImageRenderable(ImageIO.read(new File(imageFilePath)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package danogl.gui;
+
+/**
+ * Reads sounds from disk, as in danogl. The stub reads none.
+ */
+public class SoundReader {
+    /**
+     * Creates a sound reader.
+     *
+     * @param windowController The window the sounds are played in.
+     */
+    public SoundReader(WindowController windowController) {
+    }
+}
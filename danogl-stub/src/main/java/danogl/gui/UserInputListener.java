@@ -0,0 +1,14 @@
+package danogl.gui;
+
+/**
+ * Tells which keys are pressed, as in danogl.
+ */
+public interface UserInputListener {
+    /**
+     * Checks whether a key is pressed.
+     *
+     * @param keyCode The key code, as in {@link java.awt.event.KeyEvent}.
+     * @return Whether the key is pressed.
+     */
+    boolean isKeyPressed(int keyCode);
+}
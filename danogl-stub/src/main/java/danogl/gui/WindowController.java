@@ -0,0 +1,22 @@
+package danogl.gui;
+
+import danogl.util.Vector2;
+
+/**
+ * Controls the window of the game, as in danogl.
+ */
+public interface WindowController {
+    /**
+     * Returns the dimensions of the window.
+     *
+     * @return The width and height of the window, in pixels.
+     */
+    Vector2 getWindowDimensions();
+
+    /**
+     * Sets the frame rate the game aims for.
+     *
+     * @param targetFramerate The frame rate, in frames per second.
+     */
+    void setTargetFramerate(int targetFramerate);
+}
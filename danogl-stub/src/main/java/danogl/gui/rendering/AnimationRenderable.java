@@ -0,0 +1,57 @@
+package danogl.gui.rendering;
+
+import danogl.gui.ImageReader;
+
+/**
+ * A sequence of renderables shown one after the other in a loop, as in danogl.
+ */
+public class AnimationRenderable implements Renderable {
+    private final Renderable[] clips;
+    private final double timeBetweenClips;
+
+    /**
+     * Creates an animation.
+     *
+     * @param clips            The renderables, in order.
+     * @param timeBetweenClips The time each renderable is shown, in seconds.
+     */
+    public AnimationRenderable(Renderable[] clips, double timeBetweenClips) {
+        this.clips = clips.clone();
+        this.timeBetweenClips = timeBetweenClips;
+    }
+
+    /**
+     * Creates an animation of images read from disk.
+     *
+     * @param clipPaths        The paths of the images, in order.
+     * @param imageReader      Reads the images.
+     * @param useTransparency  Whether the top left pixel's color is drawn as transparent.
+     * @param timeBetweenClips The time each image is shown, in seconds.
+     */
+    public AnimationRenderable(String[] clipPaths, ImageReader imageReader,
+                               boolean useTransparency, double timeBetweenClips) {
+        this.clips = new Renderable[clipPaths.length];
+        for (int i = 0; i < clipPaths.length; i++) {
+            clips[i] = imageReader.readImage(clipPaths[i], useTransparency);
+        }
+        this.timeBetweenClips = timeBetweenClips;
+    }
+
+    /**
+     * Returns the number of renderables in the animation.
+     *
+     * @return The number of clips.
+     */
+    public int getClipCount() {
+        return clips.length;
+    }
+
+    /**
+     * Returns the time each renderable is shown.
+     *
+     * @return The time, in seconds.
+     */
+    public double getTimeBetweenClips() {
+        return timeBetweenClips;
+    }
+}
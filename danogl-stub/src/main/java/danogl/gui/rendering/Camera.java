@@ -0,0 +1,48 @@
+package danogl.gui.rendering;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * The part of the world shown in the window, as in danogl. The camera keeps the object it
+ * follows at a fixed offset from its center.
+ */
+public class Camera extends GameObject {
+    private final GameObject objectToFollow;
+    private final Vector2 deltaRelativeToObject;
+    private final Vector2 windowDimensions;
+
+    /**
+     * Creates a camera.
+     *
+     * @param objectToFollow        The object to follow, or null to stay put.
+     * @param deltaRelativeToObject The offset of the camera's center from the object's center.
+     * @param dimensions            The width and height of the part of the world shown.
+     * @param windowDimensions      The width and height of the window.
+     */
+    public Camera(GameObject objectToFollow, Vector2 deltaRelativeToObject, Vector2 dimensions,
+                  Vector2 windowDimensions) {
+        super(Vector2.ZERO, dimensions, null);
+        this.objectToFollow = objectToFollow;
+        this.deltaRelativeToObject = deltaRelativeToObject;
+        this.windowDimensions = windowDimensions;
+        update(0);
+    }
+
+    /**
+     * Returns the dimensions of the window.
+     *
+     * @return The width and height of the window.
+     */
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        if (objectToFollow != null) {
+            setCenter(objectToFollow.getCenter().add(deltaRelativeToObject));
+        }
+    }
+}
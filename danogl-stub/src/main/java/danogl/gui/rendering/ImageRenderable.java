@@ -0,0 +1,28 @@
+package danogl.gui.rendering;
+
+import java.awt.Image;
+
+/**
+ * An image, as in danogl.
+ */
+public class ImageRenderable implements Renderable {
+    private final Image image;
+
+    /**
+     * Creates an image renderable.
+     *
+     * @param image The image.
+     */
+    public ImageRenderable(Image image) {
+        this.image = image;
+    }
+
+    /**
+     * Returns the image.
+     *
+     * @return The image.
+     */
+    public Image getImage() {
+        return image;
+    }
+}
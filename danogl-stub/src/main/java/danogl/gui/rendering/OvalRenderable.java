@@ -0,0 +1,28 @@
+package danogl.gui.rendering;
+
+import java.awt.Color;
+
+/**
+ * A filled oval of a single color, as in danogl.
+ */
+public class OvalRenderable implements Renderable {
+    private final Color color;
+
+    /**
+     * Creates a oval renderable.
+     *
+     * @param color The color.
+     */
+    public OvalRenderable(Color color) {
+        this.color = color;
+    }
+
+    /**
+     * Returns the color of the oval.
+     *
+     * @return The color.
+     */
+    public Color getColor() {
+        return color;
+    }
+}
@@ -0,0 +1,28 @@
+package danogl.gui.rendering;
+
+import java.awt.Color;
+
+/**
+ * A filled rectangle of a single color, as in danogl.
+ */
+public class RectangleRenderable implements Renderable {
+    private final Color color;
+
+    /**
+     * Creates a rectangle renderable.
+     *
+     * @param color The color.
+     */
+    public RectangleRenderable(Color color) {
+        this.color = color;
+    }
+
+    /**
+     * Returns the color of the rectangle.
+     *
+     * @return The color.
+     */
+    public Color getColor() {
+        return color;
+    }
+}
@@ -0,0 +1,7 @@
+package danogl.gui.rendering;
+
+/**
+ * Something a game object is drawn as, as in danogl. The stub draws nothing.
+ */
+public interface Renderable {
+}
@@ -0,0 +1,35 @@
+package danogl.gui.rendering;
+
+/**
+ * A line of text, as in danogl.
+ */
+public class TextRenderable implements Renderable {
+    private String string;
+
+    /**
+     * Creates a text renderable.
+     *
+     * @param string The text.
+     */
+    public TextRenderable(String string) {
+        this.string = string;
+    }
+
+    /**
+     * Returns the text.
+     *
+     * @return The text.
+     */
+    public String getString() {
+        return string;
+    }
+
+    /**
+     * Sets the text.
+     *
+     * @param string The text.
+     */
+    public void setString(String string) {
+        this.string = string;
+    }
+}
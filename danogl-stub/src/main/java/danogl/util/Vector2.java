@@ -0,0 +1,143 @@
+package danogl.util;
+
+/**
+ * An immutable two-dimensional vector, as in danogl.
+ */
+public class Vector2 {
+    /** The vector (0, 0). */
+    public static final Vector2 ZERO = new Vector2(0, 0);
+    /** The vector (1, 1). */
+    public static final Vector2 ONES = new Vector2(1, 1);
+    /** The vector (-1, 0). */
+    public static final Vector2 LEFT = new Vector2(-1, 0);
+    /** The vector (1, 0). */
+    public static final Vector2 RIGHT = new Vector2(1, 0);
+    /** The vector (0, -1). */
+    public static final Vector2 UP = new Vector2(0, -1);
+    /** The vector (0, 1). */
+    public static final Vector2 DOWN = new Vector2(0, 1);
+    private final float x;
+    private final float y;
+
+    /**
+     * Creates a vector.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     */
+    public Vector2(float x, float y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Creates a vector.
+     *
+     * @param x The x coordinate.
+     * @param y The y coordinate.
+     * @return The vector.
+     */
+    public static Vector2 of(float x, float y) {
+        return new Vector2(x, y);
+    }
+
+    /**
+     * Returns the x coordinate.
+     *
+     * @return The x coordinate.
+     */
+    public float x() {
+        return x;
+    }
+
+    /**
+     * Returns the y coordinate.
+     *
+     * @return The y coordinate.
+     */
+    public float y() {
+        return y;
+    }
+
+    /**
+     * Adds a vector to this one.
+     *
+     * @param other The other vector.
+     * @return The sum.
+     */
+    public Vector2 add(Vector2 other) {
+        return new Vector2(x + other.x, y + other.y);
+    }
+
+    /**
+     * Subtracts a vector from this one.
+     *
+     * @param other The other vector.
+     * @return The difference.
+     */
+    public Vector2 subtract(Vector2 other) {
+        return new Vector2(x - other.x, y - other.y);
+    }
+
+    /**
+     * Multiplies both coordinates by a factor.
+     *
+     * @param factor The factor.
+     * @return The scaled vector.
+     */
+    public Vector2 mult(float factor) {
+        return new Vector2(x * factor, y * factor);
+    }
+
+    /**
+     * Multiplies the x coordinate by a factor.
+     *
+     * @param factor The factor.
+     * @return The scaled vector.
+     */
+    public Vector2 multX(float factor) {
+        return new Vector2(x * factor, y);
+    }
+
+    /**
+     * Multiplies the y coordinate by a factor.
+     *
+     * @param factor The factor.
+     * @return The scaled vector.
+     */
+    public Vector2 multY(float factor) {
+        return new Vector2(x, y * factor);
+    }
+
+    /**
+     * Rotates the vector around the origin.
+     *
+     * @param degrees The angle, in degrees, clockwise on the screen.
+     * @return The rotated vector.
+     */
+    public Vector2 rotated(float degrees) {
+        double radians = Math.toRadians(degrees);
+        float cos = (float) Math.cos(radians);
+        float sin = (float) Math.sin(radians);
+        return new Vector2(x * cos - y * sin, x * sin + y * cos);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof Vector2)) {
+            return false;
+        }
+        Vector2 vector = (Vector2) other;
+        return Float.compare(x, vector.x) == 0 && Float.compare(y, vector.y) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Float.hashCode(x) + Float.hashCode(y);
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ")";
+    }
+}
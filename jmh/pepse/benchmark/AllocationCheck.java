@@ -0,0 +1,67 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+/**
+ * Runs {@link AvatarAllocationBenchmark} with the allocation profiler, and fails if a walking
+ * avatar allocates more per frame than the engine does to move it
+ */
+public final class AllocationCheck {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+    private static final double TOLERANCE_BYTES = 1;
+    private static final int ITERATIONS = 3;
+    private static final TimeValue ITERATION_TIME = TimeValue.milliseconds(500);
+
+    private AllocationCheck() {
+    }
+
+    /**
+     * Runs the check, and exits with a non-zero status if it fails
+     * @param args ignored
+     * @throws RunnerException if the benchmarks cannot be run
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(AvatarAllocationBenchmark.class.getName())
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(ITERATIONS)
+                .warmupTime(ITERATION_TIME)
+                .measurementIterations(ITERATIONS)
+                .measurementTime(ITERATION_TIME)
+                .forks(1)
+                .shouldFailOnError(true)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        double avatar = allocationOf(results, AvatarAllocationBenchmark.AVATAR);
+        double engineOnly = allocationOf(results, AvatarAllocationBenchmark.ENGINE_ONLY);
+        System.out.printf("Walking avatar: %.3f B/op, engine alone: %.3f B/op%n", avatar,
+                engineOnly);
+        if (avatar - engineOnly >= TOLERANCE_BYTES) {
+            System.err.println("The avatar allocates on its own while walking");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Finds the bytes a benchmark allocated per operation
+     * @param results the results of the run
+     * @param benchmark the name of the benchmark method
+     * @return the bytes per operation
+     */
+    private static double allocationOf(Collection<RunResult> results, String benchmark) {
+        for (RunResult result : results) {
+            if (result.getParams().getBenchmark().endsWith("." + benchmark)) {
+                return result.getSecondaryResults().get(ALLOCATION).getScore();
+            }
+        }
+        throw new IllegalStateException("No result for " + benchmark);
+    }
+}
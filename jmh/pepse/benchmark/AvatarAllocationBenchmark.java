@@ -0,0 +1,95 @@
+package pepse.benchmark;
+
+import danogl.GameObject;
+import danogl.gui.rendering.RectangleRenderable;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.headless.HeadlessInput;
+import pepse.world.Avatar;
+
+import java.awt.Color;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Separates what a walking avatar allocates from what the engine allocates to move it. The
+ * avatar walks and rests as in {@link FrameUpdateBenchmark}, and a plain game object with the
+ * same size and gravity moves the same way, with its velocities set from shared vectors as the
+ * avatar sets its own, so all it allocates is what the engine allocates to integrate the moving
+ * position. Run with -prof gc: the avatar's own logic allocates nothing when both report the
+ * same gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvatarAllocationBenchmark {
+    /**
+     * The name of the benchmark of the walking avatar
+     */
+    public static final String AVATAR = "avatar";
+    /**
+     * The name of the benchmark of the engine alone
+     */
+    public static final String ENGINE_ONLY = "engineOnly";
+    private static final Vector2 WALK_RIGHT = new Vector2(200, 0);
+    private static final float GRAVITY = 150;
+    private static final int AVATAR_SIZE = 50;
+    private static final int FRAMES_PER_WALK = 64;
+    private HeadlessInput input;
+    private Avatar avatar;
+    private GameObject body;
+    private int avatarFrame;
+    private int bodyFrame;
+
+    /**
+     * Creates the avatar and the object that stands in for it
+     */
+    @Setup
+    public void setUp() {
+        input = new HeadlessInput();
+        avatar = new Avatar(Vector2.ZERO, input.listener());
+        body = new GameObject(Vector2.ZERO, Vector2.ONES.mult(AVATAR_SIZE),
+                new RectangleRenderable(Color.GRAY));
+        body.transform().setAccelerationY(GRAVITY);
+        avatarFrame = 0;
+        bodyFrame = 0;
+    }
+
+    /**
+     * Updates an avatar that alternates between walking and resting
+     * @return the energy of the avatar
+     */
+    @Benchmark
+    public double avatar() {
+        input.setKeyPressed(KeyEvent.VK_RIGHT, (avatarFrame++ & FRAMES_PER_WALK) == 0);
+        avatar.update(BenchmarkWorld.DELTA_TIME);
+        return avatar.getEnergy();
+    }
+
+    /**
+     * Updates a plain object and changes its velocity as the avatar changes its own, which is
+     * all the engine is asked to do for the avatar
+     * @return the object
+     */
+    @Benchmark
+    public GameObject engineOnly() {
+        Vector2 velocity = (bodyFrame++ & FRAMES_PER_WALK) == 0 ? WALK_RIGHT : Vector2.ZERO;
+        body.update(BenchmarkWorld.DELTA_TIME);
+        if (velocity != body.getVelocity()) {
+            body.setVelocity(velocity);
+        }
+        return body;
+    }
+}
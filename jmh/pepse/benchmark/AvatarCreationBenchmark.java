@@ -0,0 +1,50 @@
+package pepse.benchmark;
+
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.headless.HeadlessInput;
+import pepse.world.Avatar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time it takes to create avatars in a fresh JVM, and the heap they retain per
+ * avatar. The first avatar decodes the avatar atlas, which later avatars share.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class AvatarCreationBenchmark {
+    @Param({"1", "100"})
+    public int avatars;
+
+    /**
+     * Creates the avatars
+     * @param heap measures the heap the avatars retain
+     * @return the avatars
+     */
+    @Benchmark
+    public List<Avatar> create(RetainedHeap heap) {
+        HeadlessInput input = new HeadlessInput();
+        List<Avatar> created = new ArrayList<>();
+        for (int i = 0; i < avatars; i++) {
+            created.add(new Avatar(Vector2.ZERO, input.listener()));
+        }
+        heap.retain(created, avatars);
+        return created;
+    }
+}
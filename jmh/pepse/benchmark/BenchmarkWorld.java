@@ -0,0 +1,76 @@
+package pepse.benchmark;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+import pepse.world.Block;
+import pepse.world.ChunkManager;
+import pepse.world.Terrain;
+import pepse.world.trees.Flora;
+import pepse.world.trees.Trunk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The world the benchmarks generate and update, and helpers to build parts of it the way the
+ * game does
+ */
+final class BenchmarkWorld {
+    /**
+     * The dimensions of the game's window
+     */
+    static final Vector2 WINDOW_DIMENSIONS = new Vector2(1200, 720);
+    /**
+     * The seed of the generated world
+     */
+    static final int SEED = 0;
+    /**
+     * The time between two frames of the game, in seconds
+     */
+    static final float DELTA_TIME = 1f / 60;
+    /**
+     * The y coordinate the benchmarks put the tops of trees at
+     */
+    static final int TREE_TOP_Y = 300;
+    private static final long BYTES_PER_KILOBYTE = 1024;
+    private static final int FULL_COLLECTIONS = 3;
+
+    private BenchmarkWorld() {
+    }
+
+    /**
+     * Creates the objects of a single chunk, as the chunk manager does
+     * @param terrain the terrain
+     * @param flora the flora
+     * @param index the index of the chunk
+     * @param merged whether the ground is made of merged strips instead of blocks
+     * @return the objects of the chunk
+     */
+    static List<GameObject> createChunk(Terrain terrain, Flora flora, int index, boolean merged) {
+        int minX = index * ChunkManager.CHUNK_WIDTH;
+        int maxX = minX + ChunkManager.CHUNK_WIDTH;
+        List<GameObject> objects = new ArrayList<>(merged ?
+                terrain.createMergedInRange(minX, maxX - Block.SIZE) :
+                terrain.createInRange(minX, maxX - Block.SIZE));
+        for (Trunk trunk : flora.createInRange(minX + Block.SIZE, maxX + Block.SIZE)) {
+            objects.add(trunk);
+            objects.addAll(flora.createLeafInRange(trunk.getTopPositionX(),
+                    trunk.getTopPositionY()));
+            objects.addAll(flora.createFruitsInRange(trunk.getTopPositionX(),
+                    trunk.getTopPositionY()));
+        }
+        return objects;
+    }
+
+    /**
+     * Measures the heap that is still reachable after a full collection
+     * @return the used heap, in kilobytes
+     */
+    static double usedHeapKilobytesAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < FULL_COLLECTIONS; i++) {
+            System.gc();
+        }
+        return (double) (runtime.totalMemory() - runtime.freeMemory()) / BYTES_PER_KILOBYTE;
+    }
+}
@@ -0,0 +1,115 @@
+package pepse.benchmark;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.world.Block;
+import pepse.world.StaticBroadphase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the collision work of an object walking over growing numbers of static bodies,
+ * laid out like ground of blocks. The collision pass is modelled as a bounds test of the walker
+ * against every body that takes part in collisions: all of them without the broadphase, and
+ * only the ones around the walker with it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BroadphaseBenchmark {
+    private static final int BODIES_PER_COLUMN = 20;
+    private static final float WALKER_STEP = 5;
+    @Param({"10000", "100000"})
+    public int bodies;
+    private GameObjectCollection gameObjects;
+    private StaticBroadphase broadphase;
+    private List<GameObject> all;
+    private GameObject walker;
+    private float worldWidth;
+
+    /**
+     * Lays the bodies out in columns, and puts the walker on top of them
+     */
+    @Setup
+    public void setUp() {
+        gameObjects = new GameObjectCollection();
+        broadphase = new StaticBroadphase(gameObjects);
+        all = new ArrayList<>();
+        for (int i = 0; i < bodies; i++) {
+            Block block = new Block(new Vector2((i / BODIES_PER_COLUMN) * Block.SIZE,
+                    BenchmarkWorld.TREE_TOP_Y + (i % BODIES_PER_COLUMN) * Block.SIZE), null);
+            all.add(block);
+            broadphase.add(block);
+        }
+        walker = new GameObject(new Vector2(0, BenchmarkWorld.TREE_TOP_Y - Block.SIZE),
+                new Vector2(Block.SIZE, 2 * Block.SIZE), null);
+        worldWidth = (float) bodies / BODIES_PER_COLUMN * Block.SIZE;
+    }
+
+    /**
+     * Tests the walker against every body
+     * @return the number of bodies the walker overlaps
+     */
+    @Benchmark
+    public long none() {
+        step();
+        return countOverlaps(all);
+    }
+
+    /**
+     * Tests the walker against the bodies the broadphase lets collide
+     * @return the number of bodies the walker overlaps
+     */
+    @Benchmark
+    public long grid() {
+        step();
+        broadphase.update(walker);
+        return countOverlaps(gameObjects.objectsInLayer(Layer.STATIC_OBJECTS));
+    }
+
+    /**
+     * Moves the walker a step to the right, wrapping around at the end of the world
+     */
+    private void step() {
+        float x = walker.getTopLeftCorner().x() + WALKER_STEP;
+        walker.setTopLeftCorner(new Vector2(x < worldWidth ? x : 0,
+                walker.getTopLeftCorner().y()));
+    }
+
+    /**
+     * Counts the bodies whose bounds overlap the bounds of the walker
+     * @param bodies the bodies
+     * @return the number of overlapping bodies
+     */
+    private long countOverlaps(Iterable<GameObject> bodies) {
+        Vector2 min = walker.getTopLeftCorner();
+        Vector2 max = min.add(walker.getDimensions());
+        long overlaps = 0;
+        for (GameObject body : bodies) {
+            Vector2 bodyMin = body.getTopLeftCorner();
+            if (bodyMin.x() < max.x() && bodyMin.x() + body.getDimensions().x() > min.x() &&
+                    bodyMin.y() < max.y() && bodyMin.y() + body.getDimensions().y() > min.y()) {
+                overlaps++;
+            }
+        }
+        return overlaps;
+    }
+}
@@ -0,0 +1,71 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.util.ColorSupplier;
+
+import java.awt.Color;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks coloring from all cores at once: with a single shared Random (how every caller of
+ * ColorSupplier used to draw), with a generator per thread, and with the stateless variant
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class ColorThreadsBenchmark {
+    private static final Color BASE_COLOR = new Color(212, 123, 74);
+    private static final int COLOR_DELTA = 10;
+    private final Random shared = new Random();
+
+    /**
+     * The position the stateless variant is asked for next, one per thread
+     */
+    @State(Scope.Thread)
+    public static class Position {
+        private long x = 0;
+    }
+
+    /**
+     * Draws from a generator shared by every thread
+     * @return the color
+     */
+    @Benchmark
+    public Color sharedRandom() {
+        return ColorSupplier.approximateColor(BASE_COLOR, COLOR_DELTA, shared);
+    }
+
+    /**
+     * Draws from the calling thread's generator
+     * @return the color
+     */
+    @Benchmark
+    public Color threadLocal() {
+        return ColorSupplier.approximateColor(BASE_COLOR);
+    }
+
+    /**
+     * Derives the color from the seed and a position, without any generator
+     * @param position the next position of the calling thread
+     * @return the color
+     */
+    @Benchmark
+    public Color stateless(Position position) {
+        return ColorSupplier.approximateColor(BASE_COLOR, COLOR_DELTA, BenchmarkWorld.SEED,
+                position.x++, 0);
+    }
+}
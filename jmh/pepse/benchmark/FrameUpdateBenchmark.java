@@ -0,0 +1,142 @@
+package pepse.benchmark;
+
+import danogl.gui.rendering.OvalRenderable;
+import danogl.gui.rendering.RectangleRenderable;
+import danogl.util.Vector2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.headless.HeadlessInput;
+import pepse.world.Avatar;
+import pepse.world.AvatarEnergyDisplay;
+import pepse.world.Block;
+import pepse.world.trees.Fruit;
+import pepse.world.trees.Leaf;
+import pepse.world.trees.Trunk;
+
+import java.awt.Color;
+import java.awt.event.KeyEvent;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks a single frame update of each kind of game object
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FrameUpdateBenchmark {
+    private static final double WALK_ENERGY_PER_SECOND = 12.5;
+    private static final int MAX_ENERGY = 100;
+    private static final int FRAMES_PER_WALK = 64;
+    private static final int TRUNK_HEIGHT = 100;
+    private HeadlessInput walkingInput;
+    private Avatar walkingAvatar;
+    private Avatar idleAvatar;
+    private Leaf leaf;
+    private Trunk trunk;
+    private Fruit fruit;
+    private AvatarEnergyDisplay energyDisplay;
+    private double energy;
+    private int frame;
+
+    /**
+     * Creates one object of each kind
+     */
+    @Setup
+    public void setUp() {
+        walkingInput = new HeadlessInput();
+        walkingAvatar = new Avatar(Vector2.ZERO, walkingInput.listener());
+        idleAvatar = new Avatar(Vector2.ZERO, new HeadlessInput().listener());
+        leaf = new Leaf(new RectangleRenderable(Color.GREEN), 0, 0, Block.SIZE / 2);
+        trunk = new Trunk(Vector2.ZERO, new Vector2(Block.SIZE / 2, TRUNK_HEIGHT),
+                new RectangleRenderable(Color.GRAY), BenchmarkWorld.SEED);
+        fruit = new Fruit(new OvalRenderable(Color.RED), 0, 0);
+        energy = 0;
+        energyDisplay = new AvatarEnergyDisplay(() -> energy, Vector2.ZERO, Vector2.ONES);
+        frame = 0;
+    }
+
+    /**
+     * Updates an avatar that alternates between walking and resting, so its energy never runs
+     * out
+     * @return the energy of the avatar
+     */
+    @Benchmark
+    public double avatarUpdate() {
+        walkingInput.setKeyPressed(KeyEvent.VK_RIGHT, (frame++ & FRAMES_PER_WALK) == 0);
+        walkingAvatar.update(BenchmarkWorld.DELTA_TIME);
+        return walkingAvatar.getEnergy();
+    }
+
+    /**
+     * Updates an avatar that no key moves, so only the avatar's own logic is measured
+     * @return the energy of the avatar
+     */
+    @Benchmark
+    public double avatarUpdateIdle() {
+        idleAvatar.update(BenchmarkWorld.DELTA_TIME);
+        return idleAvatar.getEnergy();
+    }
+
+    /**
+     * Updates a leaf
+     * @return the leaf
+     */
+    @Benchmark
+    public Leaf leafUpdate() {
+        leaf.update(BenchmarkWorld.DELTA_TIME);
+        return leaf;
+    }
+
+    /**
+     * Updates a trunk
+     * @return the trunk
+     */
+    @Benchmark
+    public Trunk trunkUpdate() {
+        trunk.update(BenchmarkWorld.DELTA_TIME);
+        return trunk;
+    }
+
+    /**
+     * Toggles the color of a trunk, as a jump nearby does
+     * @return the trunk
+     */
+    @Benchmark
+    public Trunk trunkJump() {
+        trunk.onJump();
+        return trunk;
+    }
+
+    /**
+     * Updates a fruit
+     * @return the fruit
+     */
+    @Benchmark
+    public Fruit fruitUpdate() {
+        fruit.update(BenchmarkWorld.DELTA_TIME);
+        return fruit;
+    }
+
+    /**
+     * Updates the energy display while the energy drains as fast as walking drains it
+     * @return the display
+     */
+    @Benchmark
+    public AvatarEnergyDisplay energyDisplayUpdate() {
+        energy = energy >= MAX_ENERGY ? 0 :
+                energy + WALK_ENERGY_PER_SECOND * BenchmarkWorld.DELTA_TIME;
+        energyDisplay.update(BenchmarkWorld.DELTA_TIME);
+        return energyDisplay;
+    }
+}
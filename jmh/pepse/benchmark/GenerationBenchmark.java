@@ -0,0 +1,120 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.util.ColorSupplier;
+import pepse.world.Block;
+import pepse.world.ChunkManager;
+import pepse.world.GroundStrip;
+import pepse.world.Terrain;
+import pepse.world.trees.Flora;
+import pepse.world.trees.Fruit;
+import pepse.world.trees.Leaf;
+import pepse.world.trees.Trunk;
+
+import java.awt.Color;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of terrain, flora and color generation. The generated range moves on every
+ * operation, so the terrain height cache behaves as it does while walking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+    private static final Color BASE_COLOR = new Color(212, 123, 74);
+    private Terrain terrain;
+    private Flora flora;
+    private int nextX;
+
+    /**
+     * Creates the terrain and flora of the world
+     */
+    @Setup
+    public void setUp() {
+        terrain = new Terrain(BenchmarkWorld.WINDOW_DIMENSIONS, BenchmarkWorld.SEED);
+        flora = new Flora(BenchmarkWorld.WINDOW_DIMENSIONS, terrain, BenchmarkWorld.SEED);
+        nextX = 0;
+    }
+
+    /**
+     * Creates the ground blocks of a chunk
+     * @return the blocks
+     */
+    @Benchmark
+    public List<Block> terrainCreateInRange() {
+        int minX = advance(ChunkManager.CHUNK_WIDTH);
+        return terrain.createInRange(minX, minX + ChunkManager.CHUNK_WIDTH);
+    }
+
+    /**
+     * Creates the merged ground strips of a chunk
+     * @return the strips
+     */
+    @Benchmark
+    public List<GroundStrip> terrainCreateMergedInRange() {
+        int minX = advance(ChunkManager.CHUNK_WIDTH);
+        return terrain.createMergedInRange(minX, minX + ChunkManager.CHUNK_WIDTH);
+    }
+
+    /**
+     * Creates the trunks of a chunk
+     * @return the trunks
+     */
+    @Benchmark
+    public List<Trunk> floraCreateInRange() {
+        int minX = advance(ChunkManager.CHUNK_WIDTH);
+        return flora.createInRange(minX, minX + ChunkManager.CHUNK_WIDTH);
+    }
+
+    /**
+     * Creates the leaves of a tree
+     * @return the leaves
+     */
+    @Benchmark
+    public List<Leaf> floraCreateLeafInRange() {
+        return flora.createLeafInRange(advance(Block.SIZE), BenchmarkWorld.TREE_TOP_Y);
+    }
+
+    /**
+     * Creates the fruits of a tree
+     * @return the fruits
+     */
+    @Benchmark
+    public List<Fruit> floraCreateFruitsInRange() {
+        return flora.createFruitsInRange(advance(Block.SIZE), BenchmarkWorld.TREE_TOP_Y);
+    }
+
+    /**
+     * Picks a random color close to a base color
+     * @return the color
+     */
+    @Benchmark
+    public Color colorSupplierApproximateColor() {
+        return ColorSupplier.approximateColor(BASE_COLOR);
+    }
+
+    /**
+     * Moves the generated range forward
+     * @param width the width of the range
+     * @return the start of the range
+     */
+    private int advance(int width) {
+        int x = nextX;
+        nextX += width;
+        return x;
+    }
+}
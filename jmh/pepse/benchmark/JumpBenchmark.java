@@ -0,0 +1,61 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.world.ChunkManager;
+import pepse.world.JumpDispatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks delivering a jump in the middle of worlds of growing size, with the same density
+ * of listeners everywhere. The cost should stay the same as the world grows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JumpBenchmark {
+    private static final int LISTENERS_PER_CHUNK = 100;
+    private static final float JUMP_RADIUS = 1200;
+    @Param({"10", "100", "1000"})
+    public int chunks;
+    private JumpDispatcher dispatcher;
+    private long notified;
+    private float middle;
+
+    /**
+     * Subscribes the listeners of the whole world
+     */
+    @Setup
+    public void setUp() {
+        dispatcher = new JumpDispatcher(JUMP_RADIUS);
+        int listeners = chunks * LISTENERS_PER_CHUNK;
+        float spacing = (float) ChunkManager.CHUNK_WIDTH / LISTENERS_PER_CHUNK;
+        for (int i = 0; i < listeners; i++) {
+            dispatcher.subscribe(() -> notified++, i * spacing);
+        }
+        middle = listeners * spacing / 2;
+    }
+
+    /**
+     * Delivers a jump in the middle of the world
+     * @return the number of listeners notified so far
+     */
+    @Benchmark
+    public long dispatch() {
+        dispatcher.dispatch(middle);
+        return notified;
+    }
+}
@@ -0,0 +1,77 @@
+package pepse.benchmark;
+
+import danogl.gui.rendering.RectangleRenderable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.world.Block;
+import pepse.world.trees.Leaf;
+import pepse.world.trees.LeafAnimator;
+
+import java.awt.Color;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks swaying and spinning many leaves from the leaf animator, per leaf. The leaves are
+ * spread over twice the window, so half of them are out of view.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeafAnimatorBenchmark {
+    private static final int LEAVES = 10_000;
+    private LeafAnimator animator;
+    private Leaf[] leaves;
+
+    /**
+     * Hands the leaves to the animator
+     */
+    @Setup
+    public void setUp() {
+        animator = new LeafAnimator();
+        leaves = new Leaf[LEAVES];
+        float spacing = 2 * BenchmarkWorld.WINDOW_DIMENSIONS.x() / LEAVES;
+        for (int i = 0; i < LEAVES; i++) {
+            leaves[i] = new Leaf(new RectangleRenderable(Color.GREEN), (int) (i * spacing), 0,
+                    Block.SIZE / 2);
+            animator.add(leaves[i], 0);
+        }
+    }
+
+    /**
+     * Sways the leaves for a frame
+     * @return the number of leaves
+     */
+    @Benchmark
+    @OperationsPerInvocation(LEAVES)
+    public int update() {
+        animator.update(BenchmarkWorld.DELTA_TIME, 0, BenchmarkWorld.WINDOW_DIMENSIONS.x());
+        return animator.getLeafCount();
+    }
+
+    /**
+     * Jumps and sways the leaves for a frame. With a jump on every frame, every spin overlaps
+     * the ones before it.
+     * @return the number of leaves
+     */
+    @Benchmark
+    @OperationsPerInvocation(LEAVES)
+    public int jumpEveryFrame() {
+        for (Leaf leaf : leaves) {
+            leaf.onJump();
+        }
+        animator.update(BenchmarkWorld.DELTA_TIME, 0, BenchmarkWorld.WINDOW_DIMENSIONS.x());
+        return animator.getLeafCount();
+    }
+}
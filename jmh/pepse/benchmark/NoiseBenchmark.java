@@ -0,0 +1,53 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.util.NoiseGenerator;
+import pepse.world.Block;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the terrain noise, sampled one x at a time. The sampled x moves on every
+ * operation, as it does while walking.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoiseBenchmark {
+    private static final int FACTOR = Block.SIZE * 7;
+    private NoiseGenerator noiseGenerator;
+    private double nextX;
+
+    /**
+     * Creates the noise generator the terrain uses
+     */
+    @Setup
+    public void setUp() {
+        noiseGenerator = new NoiseGenerator(BenchmarkWorld.SEED,
+                (int) (BenchmarkWorld.WINDOW_DIMENSIONS.y() * 2 / 3));
+        nextX = 0;
+    }
+
+    /**
+     * Samples the noise at a single x
+     * @return the noise
+     */
+    @Benchmark
+    public double scalar() {
+        double x = nextX;
+        nextX += Block.SIZE;
+        return noiseGenerator.noise(x, FACTOR);
+    }
+}
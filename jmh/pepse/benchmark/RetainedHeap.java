@@ -0,0 +1,68 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Measures the heap retained by what a single-shot benchmark creates, and reports it next to
+ * the time as a secondary result. The heap is measured after full collections before and
+ * after every invocation, outside the timed part. JMH sums the counter over the measurement
+ * iterations of every fork, so every iteration contributes its share of the mean.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class RetainedHeap {
+    /**
+     * The heap retained by the objects of the last invocation, in kilobytes per unit, divided
+     * by the number of measurement iterations of the whole run
+     */
+    public double retainedKilobytes;
+    private int iterations;
+    private double heapBefore;
+    private Object retained;
+    private int units;
+
+    /**
+     * Reads the number of measurement iterations the counter is summed over, in all forks
+     * @param params the parameters of the run
+     */
+    @Setup(Level.Trial)
+    public void readIterations(BenchmarkParams params) {
+        iterations = params.getMeasurement().getCount() * Math.max(1, params.getForks());
+    }
+
+    /**
+     * Measures the heap before an invocation
+     */
+    @Setup(Level.Invocation)
+    public void measureBefore() {
+        retained = null;
+        units = 1;
+        heapBefore = BenchmarkWorld.usedHeapKilobytesAfterGc();
+    }
+
+    /**
+     * Keeps objects reachable until the heap is measured after the invocation
+     * @param objects the objects
+     * @param units the number of units the objects make, such as screens or avatars
+     */
+    public void retain(Object objects, int units) {
+        this.retained = objects;
+        this.units = units;
+    }
+
+    /**
+     * Measures the heap after an invocation, and lets the objects go
+     */
+    @TearDown(Level.Invocation)
+    public void measureAfter() {
+        retainedKilobytes = (BenchmarkWorld.usedHeapKilobytesAfterGc() - heapBefore) / units /
+                iterations;
+        retained = null;
+    }
+}
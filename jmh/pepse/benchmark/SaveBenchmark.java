@@ -0,0 +1,126 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.world.Block;
+import pepse.world.ChunkManager;
+import pepse.world.ChunkRecord;
+import pepse.world.WorldSaveFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures saving worlds of growing size, every chunk of which the player changed, opening them
+ * again, and looking up the record of a single chunk in them
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SaveBenchmark {
+    private static final int CHANGED_TRUNKS_PER_CHUNK = 2;
+    private static final int CHANGED_FRUITS_PER_CHUNK = 4;
+    private static final double AVATAR_ENERGY = 100;
+    @Param({"1000", "10000", "100000"})
+    public int chunks;
+    private SortedMap<Integer, ChunkRecord> records;
+    private Path directory;
+    private Path path;
+    private WorldSaveFile saved;
+    private Random random;
+
+    /**
+     * Creates the records of the world, and saves it once to be opened
+     * @throws IOException if the world cannot be saved
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        records = new TreeMap<>();
+        for (int index = 0; index < chunks; index++) {
+            ChunkRecord record = new ChunkRecord();
+            int minX = index * ChunkManager.CHUNK_WIDTH;
+            for (int i = 0; i < CHANGED_TRUNKS_PER_CHUNK; i++) {
+                record.addTrunk(minX + i * Block.SIZE, i + 1);
+            }
+            for (int i = 0; i < CHANGED_FRUITS_PER_CHUNK; i++) {
+                record.addFruit(minX + i * Block.SIZE, BenchmarkWorld.TREE_TOP_Y, i % 2 == 0, i);
+            }
+            records.put(index, record);
+        }
+        directory = Files.createTempDirectory("pepse");
+        path = directory.resolve("world.sav");
+        WorldSaveFile.write(path, AVATAR_ENERGY, 0, 0, records);
+        saved = WorldSaveFile.open(path);
+        random = new Random(BenchmarkWorld.SEED);
+    }
+
+    /**
+     * Deletes the saved world
+     * @throws IOException if the files cannot be deleted
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        saved = null;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    /**
+     * Saves the world
+     * @return the path of the saved world
+     * @throws IOException if the world cannot be saved
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Path write() throws IOException {
+        WorldSaveFile.write(path, AVATAR_ENERGY, 0, 0, records);
+        return path;
+    }
+
+    /**
+     * Opens the saved world
+     * @return the saved world
+     * @throws IOException if the world cannot be read
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public WorldSaveFile open() throws IOException {
+        return WorldSaveFile.open(path);
+    }
+
+    /**
+     * Looks up and decodes the record of a random chunk
+     * @return the record
+     * @throws IOException if the record cannot be read
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public ChunkRecord find() throws IOException {
+        return saved.find(random.nextInt(chunks));
+    }
+}
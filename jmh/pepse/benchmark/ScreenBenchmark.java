@@ -0,0 +1,85 @@
+package pepse.benchmark;
+
+import danogl.GameObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.world.Terrain;
+import pepse.world.trees.Flora;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating a screen of world, and the heap a screen retains, with the ground made of
+ * blocks and of merged strips
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreenBenchmark {
+    private static final int SCREEN_CHUNKS = 2;
+    private static final int RETAINED_SCREENS = 100;
+    @Param({"false", "true"})
+    public boolean merged;
+    private Terrain terrain;
+    private Flora flora;
+
+    /**
+     * Creates the terrain and flora of the world
+     */
+    @Setup
+    public void setUp() {
+        terrain = new Terrain(BenchmarkWorld.WINDOW_DIMENSIONS, BenchmarkWorld.SEED);
+        flora = new Flora(BenchmarkWorld.WINDOW_DIMENSIONS, terrain, BenchmarkWorld.SEED);
+    }
+
+    /**
+     * Creates the objects of the chunks covering a screen
+     * @return the objects of the screen
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public List<GameObject> create() {
+        return createScreen();
+    }
+
+    /**
+     * Creates many screens at once, and reports the heap they retain per screen
+     * @param heap measures the heap the screens retain
+     * @return the screens
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public List<List<GameObject>> retain(RetainedHeap heap) {
+        List<List<GameObject>> screens = new ArrayList<>();
+        for (int i = 0; i < RETAINED_SCREENS; i++) {
+            screens.add(createScreen());
+        }
+        heap.retain(screens, RETAINED_SCREENS);
+        return screens;
+    }
+
+    /**
+     * Creates the objects of the chunks covering a screen
+     * @return the objects of the screen
+     */
+    private List<GameObject> createScreen() {
+        List<GameObject> objects = new ArrayList<>();
+        for (int index = 0; index < SCREEN_CHUNKS; index++) {
+            objects.addAll(BenchmarkWorld.createChunk(terrain, flora, index, merged));
+        }
+        return objects;
+    }
+}
@@ -0,0 +1,71 @@
+package pepse.benchmark;
+
+import danogl.GameObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.world.ChunkManager;
+import pepse.world.Terrain;
+import pepse.world.trees.Flora;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares recreating chunks whenever they come back into range with keeping every chunk alive,
+ * for a walk of WALK_LENGTH pixels away from the start and back
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WalkBenchmark {
+    private static final int WALK_LENGTH = 100_000;
+    @Param({"false", "true"})
+    public boolean retainChunks;
+    private Terrain terrain;
+    private Flora flora;
+
+    /**
+     * Creates the terrain and flora of the world
+     */
+    @Setup
+    public void setUp() {
+        terrain = new Terrain(BenchmarkWorld.WINDOW_DIMENSIONS, BenchmarkWorld.SEED);
+        flora = new Flora(BenchmarkWorld.WINDOW_DIMENSIONS, terrain, BenchmarkWorld.SEED);
+    }
+
+    /**
+     * Walks away from the start and back, creating the chunks along the way
+     * @param heap measures the heap the retained chunks hold
+     * @return the retained chunks
+     */
+    @Benchmark
+    public List<List<GameObject>> walk(RetainedHeap heap) {
+        List<List<GameObject>> retained = new ArrayList<>();
+        int chunks = WALK_LENGTH / ChunkManager.CHUNK_WIDTH;
+        for (int step = 0; step < 2 * chunks; step++) {
+            int index = step < chunks ? step : 2 * chunks - 1 - step;
+            if (retainChunks && step >= chunks) {
+                continue;
+            }
+            List<GameObject> chunk = BenchmarkWorld.createChunk(terrain, flora, index, true);
+            if (retainChunks) {
+                retained.add(chunk);
+            }
+        }
+        heap.retain(retained, 1);
+        return retained;
+    }
+}
@@ -0,0 +1,48 @@
+package pepse.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pepse.world.Block;
+import pepse.world.WorldState;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures recording growing numbers of changes in a world state, and the memory they retain,
+ * which grows with the changes alone
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorldStateBenchmark {
+    private static final int REGROW_TIMES = 3;
+    @Param({"1000", "100000"})
+    public int changes;
+
+    /**
+     * Records changes of as many fruits in a new world state
+     * @param heap measures the heap the state retains
+     * @return the state
+     */
+    @Benchmark
+    public WorldState recordChanges(RetainedHeap heap) {
+        WorldState state = new WorldState(null);
+        for (int i = 0; i < changes; i++) {
+            state.fruitChanged(i * Block.SIZE, BenchmarkWorld.TREE_TOP_Y, i % 2 == 0,
+                    i % REGROW_TIMES);
+        }
+        heap.retain(state, 1);
+        return state;
+    }
+}
@@ -1,20 +1,28 @@
 package pepse;
 
+import pepse.util.FixedTimestep;
+import pepse.util.FrameCamera;
+import pepse.util.FrameMetrics;
+import pepse.util.MotionInterpolator;
 import pepse.world.*;
 import pepse.world.daynight.Night;
 import pepse.world.daynight.Sun;
 import pepse.world.daynight.SunHalo;
-import pepse.world.trees.*;
+import pepse.world.trees.Flora;
+import pepse.world.trees.LeafAnimator;
 import danogl.GameManager;
 import danogl.GameObject;
 import danogl.collisions.Layer;
+import danogl.components.CoordinateSpace;
 import danogl.gui.ImageReader;
 import danogl.gui.SoundReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.WindowController;
 import danogl.util.Vector2;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * The main class of the game. This class is responsible for initializing the game and
@@ -22,21 +30,77 @@ import java.util.List;
  */
 public class PepseGameManager extends GameManager {
     private static final String AVATAR_TAG = "Avatar";
-    private static final int MIN_X = 30;
     private static final Vector2 ENERGY_DISPLAY_LOC = new Vector2(0, 0);
     private static final Vector2 ENERGY_DISPLAY_SIZE = new Vector2(50, 50);
+    private static final Vector2 METRICS_DISPLAY_LOC = new Vector2(60, 15);
+    private static final Vector2 METRICS_DISPLAY_SIZE = new Vector2(560, 20);
     private static final int SEED = 0;
     private static final int FRAME_RATE = 25;
+    private static final boolean MERGED_TERRAIN = true;
+    private static final float LOGIC_STEPS_PER_SECOND = 60;
+    private static final int MAX_LOGIC_STEPS_PER_FRAME = 5;
+    private static final String SAVE_PATH = "world.sav";
+    private static final String STOP_THREAD_NAME = "game-stopper";
+    private static final String METRICS_PATH = "metrics.csv";
+    private static final int[] METRICS_LAYERS = {Layer.BACKGROUND, ChunkManager.GROUND_LAYER,
+            ChunkManager.TRUNK_LAYER, Layer.STATIC_OBJECTS, ChunkManager.LEAF_LAYER,
+            ChunkManager.FRUIT_LAYER, Layer.DEFAULT, Layer.FOREGROUND, Layer.UI};
+    private static final String[] METRICS_LAYER_NAMES = {"background", "ground", "trunks",
+            "colliding", "leaves", "fruits", "default", "foreground", "ui"};
     private float CYCLE_LENGTH = 30;
     private Avatar avatar;
+    private ChunkManager chunkManager;
+    private LeafAnimator leafAnimator;
+    private FixedTimestep logicTimestep;
+    private MotionInterpolator avatarMotion;
+    private FrameCamera frameCamera;
+    private final Path savePath;
+    private final Path metricsPath;
+    private final FrameMetrics metrics = new FrameMetrics(METRICS_LAYERS, METRICS_LAYER_NAMES);
+    private WorldSaveFile savedWorld;
+    private WorldState worldState;
+    private final Object updateLock = new Object();
+    private boolean stopped = false;
 
     /**
-     * The main method of the game. It creates a new instance of the game manager and runs it.
+     * Creates a game that starts a new world every time, and never saves it
+     */
+    public PepseGameManager() {
+        this(null, null);
+    }
+
+    /**
+     * Creates a game that resumes the world saved in a file, if there is one, and saves the
+     * world to the file on exit
+     *
+     * @param savePath the path of the file, or null to neither load nor save the world
+     */
+    public PepseGameManager(String savePath) {
+        this(savePath, null);
+    }
+
+    /**
+     * Creates a game that resumes the world saved in a file, if there is one, saves the world
+     * to the file on exit, and writes the frame metrics of the whole run to a CSV file on exit
+     *
+     * @param savePath    the path of the world file, or null to neither load nor save the world
+     * @param metricsPath the path of the metrics file, or null to not write the metrics
+     */
+    public PepseGameManager(String savePath, String metricsPath) {
+        this.savePath = savePath == null ? null : Paths.get(savePath);
+        this.metricsPath = metricsPath == null ? null : Paths.get(metricsPath);
+    }
+
+    /**
+     * The main method of the game. It creates a new instance of the game manager, runs it,
+     * and stops it once the game loop ends.
      *
      * @param args the command line arguments
      */
     public static void main(String[] args) {
-        new PepseGameManager().run();
+        PepseGameManager game = new PepseGameManager(SAVE_PATH, METRICS_PATH);
+        game.run();
+        game.stop();
     }
 
     /**
@@ -56,7 +120,9 @@ public class PepseGameManager extends GameManager {
                                UserInputListener inputListener, WindowController windowController) {
         super.initializeGame(imageReader, soundReader, inputListener, windowController);
         windowController.setTargetFramerate(FRAME_RATE);
+        logicTimestep = new FixedTimestep(LOGIC_STEPS_PER_SECOND, MAX_LOGIC_STEPS_PER_FRAME);
         Vector2 windowDimensions = windowController.getWindowDimensions();
+        savedWorld = openSavedWorld();
 
         createSky(windowDimensions);
 
@@ -73,42 +139,166 @@ public class PepseGameManager extends GameManager {
         createSunHalo(sun);
 
         //create avatar
-        createAvatar(imageReader, inputListener, windowDimensions);
+        createAvatar(inputListener, windowDimensions);
+
+        //create camera
+        createCamera(windowDimensions);
 
         //create energy display
         createEnergyDisplay();
 
-        //create trees and leaves
-        createTrees(windowDimensions, terrain);
+        //create metrics display
+        createMetricsDisplay();
+
+        //create the ground and trees around the avatar
+        createWorldStreaming(windowDimensions, terrain);
+
+        if (savePath != null || metricsPath != null) {
+            // In case the JVM exits without the game loop ending
+            Runtime.getRuntime().addShutdownHook(new Thread(this::stop, STOP_THREAD_NAME));
+        }
     }
 
     /**
-     * Creates the trees and leaves in the game
+     * Opens the saved world, if there is one
      *
-     * @param windowDimensions the window dimensions
-     * @param terrain          the terrain
+     * @return the saved world, or null if there is none or it cannot be read
      */
-    private void createTrees(Vector2 windowDimensions, Terrain terrain) {
-        Flora flora = new Flora(windowDimensions, terrain);
-        List<Trunk> trunks = flora.createInRange(MIN_X, (int) windowDimensions.x() - MIN_X);
-        for (Trunk trunk : trunks) {
-            avatar.registerToJumpUpdates(trunk);
-            gameObjects().addGameObject(trunk, Layer.STATIC_OBJECTS);
-            List<Leaf> leaves = flora.createLeafInRange(trunk.getTopPositionX(),
-                    trunk.getTopPositionY());
-            for (Leaf leaf : leaves) {
-                avatar.registerToJumpUpdates(leaf);
-                gameObjects().addGameObject(leaf, Layer.STATIC_OBJECTS + 1);
+    private WorldSaveFile openSavedWorld() {
+        if (savePath == null || !WorldSaveFile.exists(savePath)) {
+            return null;
+        }
+        try {
+            return WorldSaveFile.open(savePath);
+        } catch (IOException e) {
+            System.err.println("Starting a new world, could not read " + savePath + ": " +
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stops the game: waits for the update in progress, if there is one, to finish, lets no
+     * update run after it, stops the workers that create chunks, saves the world and writes
+     * the frame metrics. Called on the game thread once the game loop ends, and by a shutdown
+     * hook in case the JVM exits first. Only the first call does anything, so the world and the
+     * metrics are written from a single thread, while nothing changes them.
+     */
+    public void stop() {
+        synchronized (updateLock) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            if (chunkManager != null) {
+                chunkManager.shutdown();
             }
-            List<Fruit> fruits = flora.createFruitsInRange(trunk.getTopPositionX(),
-                    trunk.getTopPositionY());
-            for (Fruit fruit : fruits) {
-                avatar.registerToJumpUpdates(fruit);
-                gameObjects().addGameObject(fruit);
+            if (savePath != null && worldState != null) {
+                saveWorld();
+            }
+            if (metricsPath != null) {
+                writeMetrics();
             }
         }
     }
 
+    /**
+     * Saves the world. Runs when the game stops.
+     */
+    private void saveWorld() {
+        try {
+            worldState.save(savePath, avatar.getEnergy(), avatar.getCenter());
+        } catch (IOException e) {
+            System.err.println("Could not save the world to " + savePath + ": " +
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the frame metrics of the whole run. Runs when the game stops.
+     */
+    private void writeMetrics() {
+        try {
+            metrics.writeCsv(metricsPath);
+        } catch (IOException e) {
+            System.err.println("Could not write the metrics to " + metricsPath + ": " +
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Updates the game, streams the world chunks around the avatar, and sways the leaves in
+     * view of the camera. The game objects are simulated in fixed steps, as many as the frame's
+     * time covers, and the avatar is rendered between its positions at the last two steps, so
+     * the game plays the same and moves smoothly at every frame rate. The camera is left out of
+     * the steps, and follows the rendered avatar once per frame. Every part of the update is
+     * timed into the frame metrics. Does nothing once the game has stopped.
+     *
+     * @param deltaTime the time elapsed, in seconds, since the last frame
+     */
+    @Override
+    public void update(float deltaTime) {
+        synchronized (updateLock) {
+            if (!stopped) {
+                updateFrame(deltaTime);
+            }
+        }
+    }
+
+    /**
+     * Updates the game for a single frame, as described in {@link #update(float)}
+     *
+     * @param deltaTime the time elapsed, in seconds, since the last frame
+     */
+    private void updateFrame(float deltaTime) {
+        long start = metrics.beginFrame();
+        int steps = logicTimestep.advance(deltaTime);
+        avatarMotion.restore();
+        for (int i = 0; i < steps; i++) {
+            avatarMotion.beforeStep();
+            chunkManager.getBroadphase().update(avatar);
+            super.update(logicTimestep.getStep());
+            worldState.advance(logicTimestep.getStep());
+        }
+        long time = metrics.record(FrameMetrics.Subsystem.SIMULATION, start);
+        avatarMotion.interpolate(logicTimestep.getAlpha());
+        frameCamera.updateFrame(deltaTime);
+        time = metrics.record(FrameMetrics.Subsystem.CAMERA, time);
+        float avatarX = avatar.getCenter().x();
+        chunkManager.update(avatarX);
+        time = metrics.record(FrameMetrics.Subsystem.STREAMING, time);
+        float cameraLeft = camera().getTopLeftCorner().x();
+        leafAnimator.update(deltaTime, cameraLeft, cameraLeft + camera().getDimensions().x());
+        metrics.record(FrameMetrics.Subsystem.LEAVES, time);
+        metrics.endFrame(gameObjects());
+    }
+
+    /**
+     * Creates the chunk manager that adds the ground, trees and leaves around the avatar, and
+     * loads the chunks around the avatar's starting position
+     *
+     * @param windowDimensions the window dimensions
+     * @param terrain          the terrain
+     */
+    private void createWorldStreaming(Vector2 windowDimensions, Terrain terrain) {
+        Flora flora = new Flora(windowDimensions, terrain, SEED);
+        leafAnimator = new LeafAnimator();
+        worldState = new WorldState(savedWorld);
+        chunkManager = new ChunkManager(gameObjects(), terrain, flora, avatar, leafAnimator,
+                windowDimensions.x(), MERGED_TERRAIN, worldState);
+        chunkManager.update(avatar.getCenter().x());
+    }
+
+    /**
+     * Creates the camera, which keeps the avatar in the middle of the window
+     *
+     * @param windowDimensions the window dimensions
+     */
+    private void createCamera(Vector2 windowDimensions) {
+        frameCamera = new FrameCamera(avatar, Vector2.ZERO, windowDimensions, windowDimensions);
+        setCamera(frameCamera);
+    }
+
     /**
      * Creates the energy display in the game
      */
@@ -117,21 +307,37 @@ public class PepseGameManager extends GameManager {
         Vector2 energyDisplaySize = ENERGY_DISPLAY_SIZE;
         GameObject energyDisplay = new AvatarEnergyDisplay(avatar::getEnergy, energyDisplayLoc,
                 energyDisplaySize);
-        gameObjects().addGameObject(energyDisplay);
+        energyDisplay.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+        gameObjects().addGameObject(energyDisplay, Layer.UI);
+    }
+
+    /**
+     * Creates the metrics display in the game, next to the energy display
+     */
+    private void createMetricsDisplay() {
+        GameObject metricsDisplay = new MetricsDisplay(metrics, METRICS_DISPLAY_LOC,
+                METRICS_DISPLAY_SIZE);
+        metricsDisplay.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+        gameObjects().addGameObject(metricsDisplay, Layer.UI);
     }
 
     /**
-     * Creates the avatar in the game
+     * Creates the avatar in the game, with the energy and position it was saved with, if the
+     * world is resumed
      *
-     * @param imageReader      the image reader
      * @param inputListener    the input listener
      * @param windowDimensions the window dimensions
      */
-    private void createAvatar(ImageReader imageReader, UserInputListener inputListener,
-                              Vector2 windowDimensions) {
+    private void createAvatar(UserInputListener inputListener, Vector2 windowDimensions) {
         Vector2 avatarPos = new Vector2(windowDimensions.x() / 2, windowDimensions.y() / 2);
-        this.avatar = new Avatar(avatarPos, inputListener, imageReader);
+        this.avatar = new Avatar(avatarPos, inputListener);
         this.avatar.setTag(AVATAR_TAG);
+        if (savedWorld != null) {
+            avatar.setEnergy(savedWorld.getAvatarEnergy());
+            avatar.setCenter(new Vector2(savedWorld.getAvatarX(), savedWorld.getAvatarY()));
+        }
+        this.avatar.setJumpNotificationRadius(windowDimensions.x());
+        this.avatarMotion = new MotionInterpolator(avatar);
         gameObjects().addGameObject(avatar);
     }
 
@@ -169,18 +375,14 @@ public class PepseGameManager extends GameManager {
     }
 
     /**
-     * Creates the terrain in the game
+     * Creates the terrain in the game. The ground blocks themselves are added by the chunk
+     * manager, as the avatar moves.
      *
      * @param windowDimensions the window dimensions
      * @return the terrain
      */
     private Terrain createTerrain(Vector2 windowDimensions) {
-        Terrain terrain = new Terrain(windowDimensions, SEED);
-        List<Block> blocks = terrain.createInRange(0, (int) windowDimensions.x());
-        for (Block block : blocks) {
-            gameObjects().addGameObject(block);
-        }
-        return terrain;
+        return new Terrain(windowDimensions, SEED);
     }
 
     /**
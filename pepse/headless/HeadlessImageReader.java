@@ -0,0 +1,37 @@
+package pepse.headless;
+
+import danogl.gui.ImageReader;
+import danogl.gui.rendering.ImageRenderable;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * An image reader that decodes images straight from disk, without a window to convert them for
+ */
+public class HeadlessImageReader extends ImageReader {
+
+    /**
+     * Creates an image reader that is not bound to any window
+     */
+    public HeadlessImageReader() {
+        super(null);
+    }
+
+    /**
+     * Reads an image from disk
+     * @param imageFilePath the path of the image
+     * @param useTransparency ignored, the image is decoded as stored
+     * @return the image
+     */
+    @Override
+    public ImageRenderable readImage(String imageFilePath, boolean useTransparency) {
+        try {
+            return new ImageRenderable(ImageIO.read(new File(imageFilePath)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
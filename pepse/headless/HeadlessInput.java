@@ -0,0 +1,89 @@
+package pepse.headless;
+
+import danogl.gui.UserInputListener;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+/**
+ * A keyboard that is driven by code instead of a window. Hands out a {@link UserInputListener}
+ * whose isKeyPressed answers from the keys set here; every other query of the listener answers
+ * as if nothing is pressed.
+ */
+public class HeadlessInput {
+    private static final int KEY_CODES = 1 << 16;
+    private final boolean[] pressedKeys = new boolean[KEY_CODES];
+    private final UserInputListener listener;
+
+    /**
+     * Creates a keyboard with no key pressed
+     */
+    public HeadlessInput() {
+        listener = (UserInputListener) Proxy.newProxyInstance(
+                UserInputListener.class.getClassLoader(),
+                new Class<?>[]{UserInputListener.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("isKeyPressed")) {
+                        return isKeyPressed((Integer) args[0]);
+                    }
+                    return defaultValue(method.getReturnType());
+                });
+    }
+
+    /**
+     * Gets the input listener backed by this keyboard
+     * @return the input listener
+     */
+    public UserInputListener listener() {
+        return listener;
+    }
+
+    /**
+     * Presses or releases a key
+     * @param keyCode the key code, as in {@link java.awt.event.KeyEvent}
+     * @param pressed whether the key is pressed
+     */
+    public void setKeyPressed(int keyCode, boolean pressed) {
+        pressedKeys[keyCode] = pressed;
+    }
+
+    /**
+     * Releases all keys
+     */
+    public void releaseAll() {
+        Arrays.fill(pressedKeys, false);
+    }
+
+    /**
+     * Checks whether a key is pressed
+     * @param keyCode the key code, as in {@link java.awt.event.KeyEvent}
+     * @return whether the key is pressed
+     */
+    public boolean isKeyPressed(int keyCode) {
+        return keyCode >= 0 && keyCode < KEY_CODES && pressedKeys[keyCode];
+    }
+
+    /**
+     * Returns the value a listener method answers when nothing is pressed
+     * @param type the return type of the method
+     * @return false, zero or null, depending on the type
+     */
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,74 @@
+package pepse.headless;
+
+import danogl.gui.WindowController;
+import danogl.util.Vector2;
+import pepse.PepseGameManager;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Runs the game without a window. Builds the same scene as {@link PepseGameManager}, then steps
+ * it at a fixed timestep as fast as possible while replaying a script of key presses, and
+ * reports how many frames per second were simulated. Run from the root of the project:
+ * <pre>
+ *     java -cp danogl.jar:out pepse.headless.HeadlessRunner [frames] [script] [metrics.csv]
+ * </pre>
+ * If a metrics file is given, the game's frame metrics are written to it once the simulation
+ * ends.
+ * See {@link InputScript} for the format of the script.
+ */
+public class HeadlessRunner {
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(1200, 720);
+    private static final int DEFAULT_FRAMES = 10_000;
+    private static final String DEFAULT_SCRIPT = "RIGHT:0-5000,SPACE:2000-2001,LEFT:5000-10000";
+    private static final float DELTA_TIME = 1f / 25;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final String REPORT_FORMAT =
+            "Simulated %d frames in %.1f ms: %.0f frames per second, %.3f ms per frame on " +
+                    "average, %.3f ms for the slowest frame%n";
+
+    /**
+     * Runs the simulation
+     * @param args the number of frames to simulate, the input script and the path of the
+     *             metrics file, all optional
+     */
+    public static void main(String[] args) {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_FRAMES;
+        InputScript script = new InputScript(args.length > 1 ? args[1] : DEFAULT_SCRIPT);
+        HeadlessInput input = new HeadlessInput();
+        PepseGameManager game = new PepseGameManager(null, args.length > 2 ? args[2] : null);
+        game.initializeGame(new HeadlessImageReader(), null, input.listener(),
+                headlessWindow(WINDOW_DIMENSIONS));
+
+        long slowestFrame = 0;
+        long start = System.nanoTime();
+        for (int frame = 0; frame < frames; frame++) {
+            script.apply(input, frame);
+            long frameStart = System.nanoTime();
+            game.update(DELTA_TIME);
+            slowestFrame = Math.max(slowestFrame, System.nanoTime() - frameStart);
+        }
+        double millis = (System.nanoTime() - start) / NANOS_PER_MILLI;
+        game.stop();
+        System.out.printf(REPORT_FORMAT, frames, millis, frames * 1000 / millis,
+                millis / frames, slowestFrame / NANOS_PER_MILLI);
+    }
+
+    /**
+     * Creates a window controller for a window that does not exist. It reports the given
+     * dimensions, and every other call does nothing.
+     * @param windowDimensions the dimensions of the window
+     * @return the window controller
+     */
+    static WindowController headlessWindow(Vector2 windowDimensions) {
+        return (WindowController) Proxy.newProxyInstance(
+                WindowController.class.getClassLoader(),
+                new Class<?>[]{WindowController.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("getWindowDimensions")) {
+                        return windowDimensions;
+                    }
+                    return HeadlessInput.defaultValue(method.getReturnType());
+                });
+    }
+}
@@ -0,0 +1,68 @@
+package pepse.headless;
+
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A script of key presses, replayed frame by frame on a {@link HeadlessInput}. A script is a
+ * comma separated list of presses of the form KEY:FROM-TO, where KEY is the name of a
+ * {@link KeyEvent} key without the VK_ prefix, and the key is held from frame FROM up to, but
+ * not including, frame TO. For example, "RIGHT:0-600,SPACE:100-101" walks right for 600
+ * frames and jumps once on the way.
+ */
+public class InputScript {
+    private static final String PRESS_SEPARATOR = ",";
+    private static final String KEY_SEPARATOR = ":";
+    private static final String RANGE_SEPARATOR = "-";
+    private static final String KEY_PREFIX = "VK_";
+    private final List<int[]> presses = new ArrayList<>();
+
+    /**
+     * Parses a script
+     * @param script the script, may be empty
+     * @throws IllegalArgumentException if the script is malformed or names an unknown key
+     */
+    public InputScript(String script) {
+        for (String press : script.split(PRESS_SEPARATOR)) {
+            if (press.isBlank()) {
+                continue;
+            }
+            String[] keyAndRange = press.trim().split(KEY_SEPARATOR);
+            String[] range = keyAndRange.length == 2 ?
+                    keyAndRange[1].split(RANGE_SEPARATOR) : new String[0];
+            if (range.length != 2) {
+                throw new IllegalArgumentException("Expected KEY:FROM-TO, got " + press);
+            }
+            presses.add(new int[]{keyCode(keyAndRange[0]), Integer.parseInt(range[0]),
+                    Integer.parseInt(range[1])});
+        }
+    }
+
+    /**
+     * Sets the keys of the given input to the state they have on the given frame
+     * @param input the input
+     * @param frame the number of the frame, counted from 0
+     */
+    public void apply(HeadlessInput input, long frame) {
+        input.releaseAll();
+        for (int[] press : presses) {
+            if (press[1] <= frame && frame < press[2]) {
+                input.setKeyPressed(press[0], true);
+            }
+        }
+    }
+
+    /**
+     * Finds the key code of a key by its name
+     * @param name the name of the key, such as LEFT or SPACE
+     * @return the key code
+     */
+    private static int keyCode(String name) {
+        try {
+            return KeyEvent.class.getField(KEY_PREFIX + name.trim()).getInt(null);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unknown key " + name, e);
+        }
+    }
+}
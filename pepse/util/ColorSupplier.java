@@ -1,15 +1,21 @@
 package pepse.util;
 
 import java.awt.*;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Provides procedurally-generated colors around a pivot.
+ * Safe to use from several threads: the default variants draw from the calling thread's own
+ * generator, and the others take an explicit generator or are a pure function of a seed and
+ * coordinates.
  * @author Dan Nirel
  */
 public final class ColorSupplier {
     private static final int DEFAULT_COLOR_DELTA = 10;
-    private final static Random random = new Random();
+    private static final long SALT_RED = 21;
+    private static final long SALT_GREEN = 22;
+    private static final long SALT_BLUE = 23;
 
     /**
      * Returns a color similar to baseColor, with a default delta.
@@ -29,11 +35,43 @@ public final class ColorSupplier {
      * @return A color similar to baseColor.
      */
     public static Color approximateColor(Color baseColor, int colorDelta) {
+        return approximateColor(baseColor, colorDelta, ThreadLocalRandom.current());
+    }
+
+    /**
+     * Returns a color similar to baseColor, with a difference of at most colorDelta, drawn from
+     * the given generator.
+     *
+     * @param baseColor A color that we wish to approximate.
+     * @param colorDelta The maximal difference (per channel) between the sampled color and the base color.
+     * @param random The generator the channels are drawn from.
+     * @return A color similar to baseColor.
+     */
+    public static Color approximateColor(Color baseColor, int colorDelta, RandomGenerator random) {
+
+        return new Color(
+                randomChannelInRange(baseColor.getRed()-colorDelta, baseColor.getRed()+colorDelta, random),
+                randomChannelInRange(baseColor.getGreen()-colorDelta, baseColor.getGreen()+colorDelta, random),
+                randomChannelInRange(baseColor.getBlue()-colorDelta, baseColor.getBlue()+colorDelta, random));
+    }
 
+    /**
+     * Returns a color similar to baseColor, with a difference of at most colorDelta, that is a
+     * pure function of a seed and coordinates: the same arguments always give the same color.
+     *
+     * @param baseColor A color that we wish to approximate.
+     * @param colorDelta The maximal difference (per channel) between the sampled color and the base color.
+     * @param seed The world seed.
+     * @param x The first coordinate, such as a column.
+     * @param y The second coordinate, such as a row.
+     * @return A color similar to baseColor.
+     */
+    public static Color approximateColor(Color baseColor, int colorDelta, long seed, long x, long y) {
+        int range = 2 * colorDelta + 1;
         return new Color(
-                randomChannelInRange(baseColor.getRed()-colorDelta, baseColor.getRed()+colorDelta),
-                randomChannelInRange(baseColor.getGreen()-colorDelta, baseColor.getGreen()+colorDelta),
-                randomChannelInRange(baseColor.getBlue()-colorDelta, baseColor.getBlue()+colorDelta));
+                clipChannel(baseColor.getRed() - colorDelta + HashRandom.nextInt(seed, SALT_RED, x, y, range)),
+                clipChannel(baseColor.getGreen() - colorDelta + HashRandom.nextInt(seed, SALT_GREEN, x, y, range)),
+                clipChannel(baseColor.getBlue() - colorDelta + HashRandom.nextInt(seed, SALT_BLUE, x, y, range)));
     }
 
     /**
@@ -41,10 +79,20 @@ public final class ColorSupplier {
      *
      * @param min The lower bound of the given range.
      * @param max The upper bound of the given range.
+     * @param random The generator the value is drawn from.
      * @return A random number in the range [min, max], clipped to [0,255].
      */
-    private static int randomChannelInRange(int min, int max) {
-        int channel = random.nextInt(max-min+1) + min;
+    private static int randomChannelInRange(int min, int max, RandomGenerator random) {
+        return clipChannel(random.nextInt(max-min+1) + min);
+    }
+
+    /**
+     * Clips a value to the range of a color channel.
+     *
+     * @param channel The value.
+     * @return The value, clipped to [0,255].
+     */
+    private static int clipChannel(int channel) {
         return Math.min(255, Math.max(channel, 0));
     }
 }
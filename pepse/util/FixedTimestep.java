@@ -0,0 +1,60 @@
+package pepse.util;
+
+/**
+ * Splits the variable time between rendered frames into simulation steps of a fixed length, so
+ * the game plays the same at every frame rate. The time left over after the last whole step is
+ * carried on to the next frame, and the fraction of a step it makes up tells how far between
+ * the last two steps the rendered frame is.
+ */
+public class FixedTimestep {
+    private final float step;
+    private final int maxStepsPerFrame;
+    private float accumulator = 0;
+
+    /**
+     * Creates a timestep with no time carried over
+     *
+     * @param stepsPerSecond the number of simulation steps per second
+     * @param maxStepsPerFrame the maximal number of steps run for a single frame. Time beyond
+     *                         it is dropped, so a slow frame does not make the next ones slower
+     */
+    public FixedTimestep(float stepsPerSecond, int maxStepsPerFrame) {
+        this.step = 1 / stepsPerSecond;
+        this.maxStepsPerFrame = maxStepsPerFrame;
+    }
+
+    /**
+     * Adds the time of a frame, and takes the whole steps it completes out of the carried time.
+     *
+     * @param deltaTime the time elapsed, in seconds, since the last frame
+     * @return the number of steps to simulate for the frame
+     */
+    public int advance(float deltaTime) {
+        accumulator += deltaTime;
+        int steps = (int) (accumulator / step);
+        if (steps > maxStepsPerFrame) {
+            accumulator = 0;
+            return maxStepsPerFrame;
+        }
+        accumulator = Math.max(0, accumulator - steps * step);
+        return steps;
+    }
+
+    /**
+     * Returns the length of a step.
+     *
+     * @return the length of a step, in seconds
+     */
+    public float getStep() {
+        return step;
+    }
+
+    /**
+     * Returns how far the current frame is past the last step.
+     *
+     * @return the carried time as a fraction of a step, between 0 and 1
+     */
+    public float getAlpha() {
+        return Math.min(1, accumulator / step);
+    }
+}
@@ -0,0 +1,47 @@
+package pepse.util;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Camera;
+import danogl.util.Vector2;
+
+/**
+ * A camera that is moved once per rendered frame, by the game, instead of with every update of
+ * the game objects. The game objects are updated in fixed steps, as many as a frame's time
+ * covers and sometimes none, while the camera follows where its object is rendered, which is
+ * only known after the steps.
+ */
+public class FrameCamera extends Camera {
+
+    /**
+     * Creates a camera, centered on the object it follows
+     *
+     * @param objectToFollow the object to follow, or null to stay put
+     * @param deltaRelativeToObject the offset of the camera's center from the object's center
+     * @param dimensions the width and height of the part of the world shown
+     * @param windowDimensions the width and height of the window
+     */
+    public FrameCamera(GameObject objectToFollow, Vector2 deltaRelativeToObject,
+                       Vector2 dimensions, Vector2 windowDimensions) {
+        super(objectToFollow, deltaRelativeToObject, dimensions, windowDimensions);
+        updateFrame(0);
+    }
+
+    /**
+     * Does nothing, as the camera is moved by {@link #updateFrame(float)}
+     *
+     * @param deltaTime the time elapsed, in seconds, since the last update
+     */
+    @Override
+    public void update(float deltaTime) {
+    }
+
+    /**
+     * Moves the camera to follow its object. Called once per frame, after the object was placed
+     * where it is rendered.
+     *
+     * @param deltaTime the time elapsed, in seconds, since the last frame
+     */
+    public void updateFrame(float deltaTime) {
+        super.update(deltaTime);
+    }
+}
@@ -0,0 +1,213 @@
+package pepse.util;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Records where the time of every frame goes, and how many objects are in the game. Each
+ * subsystem of the frame is timed into a {@link Histogram} of nanoseconds, and the number of
+ * objects in each layer is sampled into a histogram once every few frames. Every histogram is
+ * kept twice: once for the whole run, which is written to a CSV file on exit, and once for the
+ * last few frames, which is summarized and reset for an overlay. Timing allocates nothing.
+ */
+public class FrameMetrics {
+    private static final int FRAMES_PER_OBJECT_COUNT = 25;
+    private static final double NANOS_PER_MILLI = 1e6;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double P99 = 99;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    private static final String CSV_HEADER =
+            "metric,unit,count,mean,p50,p90,p99,p99.9,max";
+    private static final String SUMMARY_FORMAT =
+            "%.0f fps  frame p99 %.1f ms  sim %.2f  camera %.2f  streaming %.2f  leaves %.2f ms" +
+                    "  objects %d";
+    private final Histogram[] totalTimes = createHistograms(Subsystem.values().length);
+    private final Histogram[] recentTimes = createHistograms(Subsystem.values().length);
+    private final int[] layers;
+    private final String[] layerNames;
+    private final Histogram[] totalObjects;
+    private final int[] lastObjects;
+    private long frameStart = 0;
+    private long updateNanos = 0;
+    private long recentStart = 0;
+    private int frames = 0;
+
+    /**
+     * The parts of a frame that are timed.
+     */
+    public enum Subsystem {
+        /** The whole frame, from the start of one update to the start of the next. */
+        FRAME("frame"),
+        /** The update of the game objects, the avatar among them, and their collisions. */
+        SIMULATION("simulation"),
+        /** Placing the avatar between simulation steps, and moving the camera after it. */
+        CAMERA("camera"),
+        /** Creating, adding and removing the chunks of the world around the avatar. */
+        STREAMING("streaming"),
+        /** Swaying and spinning the leaves. */
+        LEAVES("leaves"),
+        /** What the frame spends outside of the update: rendering, and waiting for the next
+         * frame when the frame rate is capped. */
+        RENDER("render"),
+        /** The update as a whole. */
+        UPDATE("update");
+
+        private final String metricName;
+
+        Subsystem(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    /**
+     * Creates metrics with nothing recorded.
+     *
+     * @param layers the layers whose objects are counted
+     * @param layerNames the names of the layers, in the same order
+     */
+    public FrameMetrics(int[] layers, String[] layerNames) {
+        this.layers = layers.clone();
+        this.layerNames = layerNames.clone();
+        this.totalObjects = createHistograms(layers.length);
+        this.lastObjects = new int[layers.length];
+    }
+
+    /**
+     * Starts timing a frame, and records the time since the previous frame started.
+     *
+     * @return the time the frame started, in nanoseconds, to time its first subsystem from
+     */
+    public long beginFrame() {
+        long now = System.nanoTime();
+        if (frameStart != 0) {
+            long frameNanos = now - frameStart;
+            recordNanos(Subsystem.FRAME, frameNanos);
+            recordNanos(Subsystem.RENDER, frameNanos - updateNanos);
+        } else {
+            recentStart = now;
+        }
+        frameStart = now;
+        return now;
+    }
+
+    /**
+     * Records the time a subsystem took.
+     *
+     * @param subsystem the subsystem
+     * @param startNanos the time the subsystem started, in nanoseconds
+     * @return the time the subsystem ended, in nanoseconds, to time the next one from
+     */
+    public long record(Subsystem subsystem, long startNanos) {
+        long now = System.nanoTime();
+        recordNanos(subsystem, now - startNanos);
+        return now;
+    }
+
+    /**
+     * Finishes timing a frame, and samples the number of objects in each layer once every
+     * few frames.
+     *
+     * @param gameObjects the objects of the game
+     */
+    public void endFrame(GameObjectCollection gameObjects) {
+        updateNanos = System.nanoTime() - frameStart;
+        recordNanos(Subsystem.UPDATE, updateNanos);
+        if (frames++ % FRAMES_PER_OBJECT_COUNT == 0) {
+            for (int i = 0; i < layers.length; i++) {
+                int objects = 0;
+                for (GameObject ignored : gameObjects.objectsInLayer(layers[i])) {
+                    objects++;
+                }
+                lastObjects[i] = objects;
+                totalObjects[i].record(objects);
+            }
+        }
+    }
+
+    /**
+     * Summarizes the frames since the last summary in a single line, and starts over.
+     *
+     * @return the frame rate, the 99th percentile of the frame time and of each subsystem's
+     *         time, and the number of objects in the game
+     */
+    public String summarizeRecent() {
+        long now = System.nanoTime();
+        Histogram frame = recentTimes[Subsystem.FRAME.ordinal()];
+        double seconds = (now - recentStart) / NANOS_PER_SECOND;
+        int objects = 0;
+        for (int count : lastObjects) {
+            objects += count;
+        }
+        String summary = String.format(Locale.ROOT, SUMMARY_FORMAT,
+                seconds > 0 ? frame.getCount() / seconds : 0, recentP99(Subsystem.FRAME),
+                recentP99(Subsystem.SIMULATION), recentP99(Subsystem.CAMERA),
+                recentP99(Subsystem.STREAMING), recentP99(Subsystem.LEAVES), objects);
+        for (Histogram histogram : recentTimes) {
+            histogram.reset();
+        }
+        recentStart = now;
+        return summary;
+    }
+
+    /**
+     * Writes the whole run's metrics to a CSV file: a row per subsystem, in milliseconds, and
+     * a row per layer, in objects.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (Subsystem subsystem : Subsystem.values()) {
+                writeRow(writer, subsystem.metricName, "ms", totalTimes[subsystem.ordinal()],
+                        NANOS_PER_MILLI);
+            }
+            for (int i = 0; i < layers.length; i++) {
+                writeRow(writer, "objects." + layerNames[i], "objects", totalObjects[i], 1);
+            }
+        }
+    }
+
+    private void recordNanos(Subsystem subsystem, long nanos) {
+        totalTimes[subsystem.ordinal()].record(nanos);
+        recentTimes[subsystem.ordinal()].record(nanos);
+    }
+
+    private double recentP99(Subsystem subsystem) {
+        return recentTimes[subsystem.ordinal()].getValueAtPercentile(P99) /
+                NANOS_PER_MILLI;
+    }
+
+    private static void writeRow(BufferedWriter writer, String metric, String unit,
+                                 Histogram histogram, double divisor) throws IOException {
+        StringBuilder row = new StringBuilder(metric).append(',').append(unit).append(',')
+                .append(histogram.getCount()).append(',')
+                .append(format(histogram.getMean() / divisor));
+        for (double percentile : PERCENTILES) {
+            row.append(',').append(format(histogram.getValueAtPercentile(percentile) / divisor));
+        }
+        row.append(',').append(format(histogram.getMax() / divisor));
+        writer.write(row.toString());
+        writer.newLine();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static Histogram[] createHistograms(int count) {
+        Histogram[] histograms = new Histogram[count];
+        for (int i = 0; i < count; i++) {
+            histograms[i] = new Histogram();
+        }
+        return histograms;
+    }
+}
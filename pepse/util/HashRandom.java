@@ -0,0 +1,84 @@
+package pepse.util;
+
+/**
+ * Provides stateless pseudo-random values, computed as a pure function of a seed and
+ * coordinates. Unlike {@link java.util.Random}, asking for the same coordinates always gives the
+ * same value, no matter in which order or on which thread the values are requested, so anything
+ * generated from them can be thrown away and rebuilt identically.
+ */
+public final class HashRandom {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final float FLOAT_UNIT = 0x1.0p-24f;
+    private static final int FLOAT_BITS = 24;
+
+    private HashRandom() {
+    }
+
+    /**
+     * Hashes a seed, a salt and two coordinates into a well mixed 64 bit value.
+     *
+     * @param seed the world seed
+     * @param salt a constant that separates unrelated uses of the same coordinates
+     * @param x the first coordinate
+     * @param y the second coordinate
+     * @return a pseudo-random 64 bit value
+     */
+    public static long hash(long seed, long salt, long x, long y) {
+        long h = mix(seed + GOLDEN_GAMMA);
+        h = mix(h ^ (salt + GOLDEN_GAMMA));
+        h = mix(h ^ (x + GOLDEN_GAMMA));
+        return mix(h ^ (y + GOLDEN_GAMMA));
+    }
+
+    /**
+     * Returns a float uniformly distributed in [0, 1).
+     *
+     * @param seed the world seed
+     * @param salt a constant that separates unrelated uses of the same coordinates
+     * @param x the first coordinate
+     * @param y the second coordinate
+     * @return a pseudo-random float in [0, 1)
+     */
+    public static float nextFloat(long seed, long salt, long x, long y) {
+        return (hash(seed, salt, x, y) >>> (Long.SIZE - FLOAT_BITS)) * FLOAT_UNIT;
+    }
+
+    /**
+     * Returns an int uniformly distributed in [0, bound).
+     *
+     * @param seed the world seed
+     * @param salt a constant that separates unrelated uses of the same coordinates
+     * @param x the first coordinate
+     * @param y the second coordinate
+     * @param bound the upper bound (exclusive). Must be positive
+     * @return a pseudo-random int in [0, bound)
+     */
+    public static int nextInt(long seed, long salt, long x, long y, int bound) {
+        return (int) (((hash(seed, salt, x, y) >>> Integer.SIZE) * bound) >>> Integer.SIZE);
+    }
+
+    /**
+     * Returns a boolean that is true with probability 1/2.
+     *
+     * @param seed the world seed
+     * @param salt a constant that separates unrelated uses of the same coordinates
+     * @param x the first coordinate
+     * @param y the second coordinate
+     * @return a pseudo-random boolean
+     */
+    public static boolean nextBoolean(long seed, long salt, long x, long y) {
+        return hash(seed, salt, x, y) < 0;
+    }
+
+    /**
+     * The finalizer of SplitMix64, which spreads every input bit over the whole output.
+     *
+     * @param z the value to mix
+     * @return the mixed value
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,126 @@
+package pepse.util;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative long values with log-linear buckets: values below
+ * SUB_BUCKETS each get their own bucket, and every power of two above is split into SUB_BUCKETS
+ * equal buckets, so percentiles are within about 3% of the recorded values at any magnitude.
+ * Values are capped at MAX_VALUE, far above any duration in nanoseconds a game would record.
+ * The counts are kept in a single array allocated up front, so recording a value allocates
+ * nothing and takes constant time.
+ */
+public class Histogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    private static final long MAX_VALUE = Long.MAX_VALUE >>> 1;
+    private static final double MAX_PERCENTILE = 100;
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * Records a value.
+     *
+     * @param value the value. Negative values are recorded as 0, and values above MAX_VALUE
+     *              as MAX_VALUE
+     */
+    public void record(long value) {
+        value = Math.max(0, Math.min(MAX_VALUE, value));
+        counts[bucketOf(value)]++;
+        count++;
+        sum += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the largest recorded value, or 0 if none were recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean, or 0 if no values were recorded
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Returns the value below which a given percentage of the recorded values fall.
+     *
+     * @param percentile the percentage, between 0 and 100
+     * @return the largest value of the bucket the percentile falls in, at most the largest
+     *         recorded value, or 0 if no values were recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        double clamped = Math.max(0, Math.min(MAX_PERCENTILE, percentile));
+        long rank = Math.max(1, (long) Math.ceil(clamped / MAX_PERCENTILE * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank) {
+                return Math.min(max, highestValueOf(bucket));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Forgets every recorded value.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        sum = 0;
+        max = 0;
+    }
+
+    /**
+     * Finds the bucket a value falls in.
+     *
+     * @param value the value, between 0 and MAX_VALUE
+     * @return the index of the bucket
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * Returns the largest value that falls in a bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the largest value of the bucket
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
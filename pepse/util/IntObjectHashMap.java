@@ -0,0 +1,114 @@
+package pepse.util;
+
+/**
+ * A hash map from int keys to objects, using open addressing with linear probing. Unlike a
+ * {@code HashMap<Integer, V>}, looking a key up never boxes it, so lookups allocate nothing.
+ *
+ * @param <V> the type of the values
+ */
+public class IntObjectHashMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float MAX_LOAD = 0.5f;
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value of the key, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int i = indexOf(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key the key
+     * @param value the value. Must not be null
+     */
+    public void put(int key, V value) {
+        if (size + 1 > keys.length * MAX_LOAD) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = indexOf(key, mask);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == null) {
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Removes a key from the map. Does nothing if the key is not in the map.
+     *
+     * @param key the key
+     */
+    public void remove(int key) {
+        int mask = keys.length - 1;
+        int i = indexOf(key, mask);
+        while (values[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (values[i] == null) {
+            return;
+        }
+        size--;
+        // Shift the following entries of the probe sequence back, so no lookup stops early.
+        int empty = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = indexOf(keys[j], mask);
+            if (((j - home) & mask) >= ((j - empty) & mask)) {
+                keys[empty] = keys[j];
+                values[empty] = values[j];
+                empty = j;
+            }
+        }
+        values[empty] = null;
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = indexOf(oldKeys[j], mask);
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    private static int indexOf(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
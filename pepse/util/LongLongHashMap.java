@@ -0,0 +1,157 @@
+package pepse.util;
+
+/**
+ * A hash map from long keys to long values, using open addressing with linear probing. Keys and
+ * values are kept in primitive arrays, so the map never boxes them, and lookups allocate nothing.
+ */
+public class LongLongHashMap {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float MAX_LOAD = 0.5f;
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private boolean[] used = new boolean[INITIAL_CAPACITY];
+    private int size = 0;
+
+    /**
+     * A visitor of the entries of a map.
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        /**
+         * Visits an entry.
+         *
+         * @param key the key of the entry
+         * @param value the value of the entry
+         */
+        void visit(long key, long value);
+    }
+
+    /**
+     * Checks whether a key is in the map.
+     *
+     * @param key the key
+     * @return whether the key is in the map
+     */
+    public boolean containsKey(long key) {
+        return slotOf(key) >= 0;
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @param defaultValue the value to return if the key is not in the map
+     * @return the value of the key, or defaultValue if the key is not in the map
+     */
+    public long getOrDefault(long key, long defaultValue) {
+        int slot = slotOf(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Sets the value of a key.
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(long key, long value) {
+        if (size + 1 > keys.length * MAX_LOAD) {
+            resize(keys.length * 2);
+        }
+        int mask = keys.length - 1;
+        int i = indexOf(key, mask);
+        while (used[i] && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (!used[i]) {
+            used[i] = true;
+            size++;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Removes a key from the map. Does nothing if the key is not in the map.
+     *
+     * @param key the key
+     */
+    public void remove(long key) {
+        int i = slotOf(key);
+        if (i < 0) {
+            return;
+        }
+        size--;
+        // Shift the following entries of the probe sequence back, so no lookup stops early.
+        int mask = keys.length - 1;
+        int empty = i;
+        for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+            int home = indexOf(keys[j], mask);
+            if (((j - home) & mask) >= ((j - empty) & mask)) {
+                keys[empty] = keys[j];
+                values[empty] = values[j];
+                empty = j;
+            }
+        }
+        used[empty] = false;
+    }
+
+    /**
+     * Visits every entry of the map, in no particular order. The map must not be changed
+     * while it is visited.
+     *
+     * @param visitor the visitor
+     */
+    public void forEach(EntryVisitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (used[i]) {
+                visitor.visit(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return the number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        for (int i = indexOf(key, mask); used[i]; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+        keys = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldUsed[j]) {
+                int i = indexOf(oldKeys[j], mask);
+                while (used[i]) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+                used[i] = true;
+            }
+        }
+    }
+
+    private static int indexOf(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,63 @@
+package pepse.util;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+/**
+ * Renders a game object that moves in fixed simulation steps smoothly, by placing it between its
+ * positions at the last two steps for every rendered frame. The simulated position is put back
+ * before the steps of the next frame, so physics and collisions never see the rendered one.
+ * When the object has not moved since the previous step, it is rendered where it is, so a
+ * resting object costs neither a new position nor a move back.
+ */
+public class MotionInterpolator {
+    private final GameObject gameObject;
+    private Vector2 previous;
+    private Vector2 current;
+    private boolean displaced = false;
+
+    /**
+     * Creates an interpolator for a game object that has not moved yet
+     *
+     * @param gameObject the game object
+     */
+    public MotionInterpolator(GameObject gameObject) {
+        this.gameObject = gameObject;
+        this.previous = gameObject.getTopLeftCorner();
+        this.current = previous;
+    }
+
+    /**
+     * Puts the game object back at its simulated position. Called once per frame, before the
+     * steps of the frame.
+     */
+    public void restore() {
+        if (displaced) {
+            gameObject.setTopLeftCorner(current);
+            displaced = false;
+        }
+    }
+
+    /**
+     * Remembers the position of the game object before a step. Called before every step.
+     */
+    public void beforeStep() {
+        previous = gameObject.getTopLeftCorner();
+    }
+
+    /**
+     * Remembers the simulated position of the game object, and moves it to where it is rendered.
+     * Called once per frame, after the steps of the frame.
+     *
+     * @param alpha how far the frame is between the last two steps, between 0 and 1
+     */
+    public void interpolate(float alpha) {
+        current = gameObject.getTopLeftCorner();
+        float x = previous.x() + (current.x() - previous.x()) * alpha;
+        float y = previous.y() + (current.y() - previous.y()) * alpha;
+        if (x != current.x() || y != current.y()) {
+            gameObject.setTopLeftCorner(new Vector2(x, y));
+            displaced = true;
+        }
+    }
+}
@@ -7,11 +7,35 @@ import java.util.Random;
 
  */
 public class NoiseGenerator {
+    private static final double[] GRADIENT_X = new double[16];
+    private static final double[] GRADIENT_Y = new double[16];
     private double seed;
     private long default_size;
     private int[] p;
     private int[] permutation;
     private double startPoint;
+    private double[] octaves;
+    private int yCell;
+    private double yOffset;
+    private double yFade;
+
+    static {
+        // The gradients of the 3D noise at z = 0, written as gradientX * x + gradientY * y.
+        for (int h = 0; h < 16; h++) {
+            double uSign = (h & 1) == 0 ? 1 : -1;
+            double vSign = (h & 2) == 0 ? 1 : -1;
+            if (h < 8) {
+                GRADIENT_X[h] += uSign;
+            } else {
+                GRADIENT_Y[h] += uSign;
+            }
+            if (h < 4) {
+                GRADIENT_Y[h] += vSign;
+            } else if (h == 12 || h == 14) {
+                GRADIENT_X[h] += vSign;
+            }
+        }
+    }
 
     /**
      * The constructor of the NoiseGenerator class.
@@ -61,6 +85,24 @@ public class NoiseGenerator {
             p[256 + i] = p[i] = permutation[i];
         }
 
+        // The octave sizes, from startPoint halving down to 1.
+        int octaveCount = 0;
+        for (double currentPoint = startPoint; currentPoint >= 1; currentPoint /= 2.0) {
+            octaveCount++;
+        }
+        this.octaves = new double[octaveCount];
+        double currentPoint = startPoint;
+        for (int i = 0; i < octaveCount; i++) {
+            octaves[i] = currentPoint;
+            currentPoint /= 2.0;
+        }
+
+        // Every query samples the noise on the same y (the seed) and z (0), so the y cell,
+        // offset and fade curve are the same for all of them.
+        double y = this.seed;
+        this.yCell = (int) Math.floor(y) & 255;
+        this.yOffset = y - Math.floor(y);
+        this.yFade = fade(yOffset);
     }
 
     /**
@@ -79,50 +121,41 @@ public class NoiseGenerator {
      */
     public double noise(double x, double factor) {
         double value = 0.0;
-        double currentPoint = startPoint;
-
-        while (currentPoint >= 1) {
-            value += smoothNoise((x / currentPoint), 0, 0) * currentPoint;
-            currentPoint /= 2.0;
+        for (double currentPoint : octaves) {
+            value += smoothNoise((x / currentPoint)) * currentPoint;
         }
 
         return value * factor / startPoint;
     }
 
 
-    private double smoothNoise(double x, double y, double z) {
-        // Offset each coordinate by the seed value
+    /**
+     * The 3D noise at (x, seed, 0), without the work of the z axis, which always has a fade of
+     * 0, and with the y axis precomputed once in init().
+     */
+    private double smoothNoise(double x) {
+        // Offset the coordinate by the seed value
         x += this.seed;
-        y += this.seed;
         x += this.seed;
 
-        int X = (int) Math.floor(x) & 255; // FIND UNIT CUBE THAT
-        int Y = (int) Math.floor(y) & 255; // CONTAINS POINT.
-        int Z = (int) Math.floor(z) & 255;
-
-        x -= Math.floor(x); // FIND RELATIVE X,Y,Z
-        y -= Math.floor(y); // OF POINT IN CUBE.
-        z -= Math.floor(z);
-
-        double u = fade(x); // COMPUTE FADE CURVES
-        double v = fade(y); // FOR EACH OF X,Y,Z.
-        double w = fade(z);
-
-        int A = p[X] + Y;
-        int AA = p[A] + Z;
-        int AB = p[A + 1] + Z; // HASH COORDINATES OF
-        int B = p[X + 1] + Y;
-        int BA = p[B] + Z;
-        int BB = p[B + 1] + Z; // THE 8 CUBE CORNERS,
-
-        return lerp(w, lerp(v, lerp(u, grad(p[AA], x, y, z),    // AND ADD
-                                grad(p[BA], x - 1, y, z)), // BLENDED
-                        lerp(u, grad(p[AB], x, y - 1, z),    // RESULTS
-                                grad(p[BB], x - 1, y - 1, z))),// FROM 8
-                lerp(v, lerp(u, grad(p[AA + 1], x, y, z - 1),    // CORNERS
-                                grad(p[BA + 1], x - 1, y, z - 1)), // OF CUBE
-                        lerp(u, grad(p[AB + 1], x, y - 1, z - 1),
-                                grad(p[BB + 1], x - 1, y - 1, z - 1))));
+        double floorX = Math.floor(x);
+        int X = (int) floorX & 255; // FIND UNIT SQUARE THAT CONTAINS POINT.
+        x -= floorX; // FIND RELATIVE X OF POINT IN SQUARE.
+        double y = yOffset;
+
+        double u = fade(x); // COMPUTE FADE CURVE
+
+        int A = p[X] + yCell;
+        int B = p[X + 1] + yCell; // HASH COORDINATES OF
+        int AA = p[A];
+        int AB = p[A + 1];
+        int BA = p[B];
+        int BB = p[B + 1]; // THE 4 SQUARE CORNERS,
+
+        return lerp(yFade, lerp(u, grad(p[AA], x, y),    // AND ADD
+                        grad(p[BA], x - 1, y)), // BLENDED RESULTS
+                lerp(u, grad(p[AB], x, y - 1),    // FROM 4 CORNERS
+                        grad(p[BB], x - 1, y - 1)));
     }
 
     private double fade(double t) {
@@ -133,10 +166,8 @@ public class NoiseGenerator {
         return a + t * (b - a);
     }
 
-    private double grad(int hash, double x, double y, double z) {
-        int h = hash & 15; // CONVERT LO 4 BITS OF HASH CODE
-        double u = h < 8 ? x : y, // INTO 12 GRADIENT DIRECTIONS.
-                v = h < 4 ? y : h == 12 || h == 14 ? x : z;
-        return ((h & 1) == 0 ? u : -u) + ((h & 2) == 0 ? v : -v);
+    private double grad(int hash, double x, double y) {
+        int h = hash & 15; // CONVERT LO 4 BITS OF HASH CODE INTO A GRADIENT DIRECTION.
+        return GRADIENT_X[h] * x + GRADIENT_Y[h] * y;
     }
 }
@@ -0,0 +1,103 @@
+package pepse.util;
+
+import danogl.gui.rendering.OvalRenderable;
+import danogl.gui.rendering.RectangleRenderable;
+
+import java.awt.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Provides shared renderables for colors. Colors are quantized to a palette of
+ * LEVELS x LEVELS x LEVELS entries, and every color of an entry is drawn with the same
+ * renderable instance, created the first time the entry is needed. Objects that change color
+ * only swap references to palette renderables, instead of allocating new ones.
+ * Safe to use from several threads.
+ */
+public final class RenderablePalette {
+    private static final int CHANNEL_SHIFT = 3;
+    private static final int LEVELS = 256 >> CHANNEL_SHIFT;
+    private static final int HALF_STEP = (1 << CHANNEL_SHIFT) / 2;
+    private static final int MAX_CHANNEL = 255;
+    private static final AtomicReferenceArray<RectangleRenderable> rectangles =
+            new AtomicReferenceArray<>(LEVELS * LEVELS * LEVELS);
+    private static final AtomicReferenceArray<OvalRenderable> ovals =
+            new AtomicReferenceArray<>(LEVELS * LEVELS * LEVELS);
+
+    private RenderablePalette() {
+    }
+
+    /**
+     * Returns the shared rectangle renderable of a color.
+     *
+     * @param color the color
+     * @return a rectangle renderable of the palette color closest to the given color
+     */
+    public static RectangleRenderable rectangle(Color color) {
+        return rectangle(color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    /**
+     * Returns the shared rectangle renderable of a color given by its channels, without
+     * creating a Color for it.
+     *
+     * @param red the red channel, between 0 and 255
+     * @param green the green channel, between 0 and 255
+     * @param blue the blue channel, between 0 and 255
+     * @return a rectangle renderable of the palette color closest to the given color
+     */
+    public static RectangleRenderable rectangle(int red, int green, int blue) {
+        int index = paletteIndex(red, green, blue);
+        RectangleRenderable renderable = rectangles.get(index);
+        if (renderable == null) {
+            rectangles.compareAndSet(index, null, new RectangleRenderable(paletteColor(index)));
+            renderable = rectangles.get(index);
+        }
+        return renderable;
+    }
+
+    /**
+     * Returns the shared oval renderable of a color.
+     *
+     * @param color the color
+     * @return an oval renderable of the palette color closest to the given color
+     */
+    public static OvalRenderable oval(Color color) {
+        int index = paletteIndex(color.getRed(), color.getGreen(), color.getBlue());
+        OvalRenderable renderable = ovals.get(index);
+        if (renderable == null) {
+            ovals.compareAndSet(index, null, new OvalRenderable(paletteColor(index)));
+            renderable = ovals.get(index);
+        }
+        return renderable;
+    }
+
+    /**
+     * Finds the palette entry of a color.
+     *
+     * @param red the red channel, between 0 and 255
+     * @param green the green channel, between 0 and 255
+     * @param blue the blue channel, between 0 and 255
+     * @return the index of the palette entry the color falls in
+     */
+    private static int paletteIndex(int red, int green, int blue) {
+        return ((red >> CHANNEL_SHIFT) * LEVELS + (green >> CHANNEL_SHIFT)) * LEVELS +
+                (blue >> CHANNEL_SHIFT);
+    }
+
+    /**
+     * Returns the color of a palette entry, the middle of the range of colors it covers.
+     *
+     * @param index the index of the palette entry
+     * @return the color of the entry
+     */
+    private static Color paletteColor(int index) {
+        int blue = index % LEVELS;
+        int green = (index / LEVELS) % LEVELS;
+        int red = index / (LEVELS * LEVELS);
+        return new Color(channel(red), channel(green), channel(blue));
+    }
+
+    private static int channel(int level) {
+        return Math.min(MAX_CHANNEL, (level << CHANNEL_SHIFT) + HALF_STEP);
+    }
+}
@@ -0,0 +1,139 @@
+package pepse.util;
+
+import danogl.gui.rendering.ImageRenderable;
+import danogl.gui.rendering.Renderable;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A sheet of named frames packed into a single image by pepse.tools.AtlasPacker, which the
+ * build runs to put the atlases on the classpath. Each atlas is decoded once per process, the
+ * first time it is asked for, and the renderables of its frames are shared by everything that
+ * shows them. Safe to use from several threads.
+ */
+public final class SpriteAtlas {
+    /**
+     * The extension of the image of an atlas
+     */
+    public static final String IMAGE_EXTENSION = ".png";
+    /**
+     * The extension of the index of an atlas, which lists the name and bounds of every frame
+     */
+    public static final String INDEX_EXTENSION = ".txt";
+    /**
+     * The prefix of comment lines in the index of an atlas
+     */
+    public static final String COMMENT_PREFIX = "#";
+    private static final Map<String, SpriteAtlas> atlases = new ConcurrentHashMap<>();
+    private final Map<String, ImageRenderable> frames;
+
+    private SpriteAtlas(Map<String, ImageRenderable> frames) {
+        this.frames = frames;
+    }
+
+    /**
+     * Returns an atlas, decoding it if this is the first time it is asked for.
+     *
+     * @param path the resource name of the atlas on the classpath, without an extension
+     * @return the atlas
+     * @throws UncheckedIOException if the atlas cannot be read
+     */
+    public static SpriteAtlas get(String path) {
+        return atlases.computeIfAbsent(path, SpriteAtlas::load);
+    }
+
+    /**
+     * Returns the shared renderable of a frame.
+     *
+     * @param name the name of the frame
+     * @return the renderable of the frame
+     * @throws IllegalArgumentException if the atlas has no frame with that name
+     */
+    public Renderable frame(String name) {
+        ImageRenderable frame = frames.get(name);
+        if (frame == null) {
+            throw new IllegalArgumentException("Unknown frame " + name);
+        }
+        return frame;
+    }
+
+    /**
+     * Returns the shared renderables of several frames, in order, such as the clips of an
+     * animation.
+     *
+     * @param names the names of the frames
+     * @return the renderables of the frames
+     * @throws IllegalArgumentException if the atlas has no frame with one of the names
+     */
+    public Renderable[] frames(String... names) {
+        Renderable[] renderables = new Renderable[names.length];
+        for (int i = 0; i < names.length; i++) {
+            renderables[i] = frame(names[i]);
+        }
+        return renderables;
+    }
+
+    /**
+     * Decodes the image of an atlas and cuts it into frames, as listed in its index.
+     *
+     * @param path the resource name of the atlas on the classpath, without an extension
+     * @return the atlas
+     */
+    private static SpriteAtlas load(String path) {
+        try {
+            BufferedImage sheet;
+            try (InputStream image = openResource(path + IMAGE_EXTENSION)) {
+                sheet = ImageIO.read(image);
+            }
+            if (sheet == null) {
+                throw new IOException("Unsupported image format " + path + IMAGE_EXTENSION);
+            }
+            String index;
+            try (InputStream indexStream = openResource(path + INDEX_EXTENSION)) {
+                index = new String(indexStream.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            Map<String, ImageRenderable> frames = new HashMap<>();
+            for (String line : index.split("\\R")) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith(COMMENT_PREFIX)) {
+                    continue;
+                }
+                String[] fields = line.split("\\s+");
+                if (fields.length != 5) {
+                    throw new IOException("Expected NAME X Y WIDTH HEIGHT, got " + line);
+                }
+                BufferedImage image = sheet.getSubimage(Integer.parseInt(fields[1]),
+                        Integer.parseInt(fields[2]), Integer.parseInt(fields[3]),
+                        Integer.parseInt(fields[4]));
+                frames.put(fields[0], new ImageRenderable(image));
+            }
+            return new SpriteAtlas(frames);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a resource of the classpath.
+     *
+     * @param name the name of the resource
+     * @return a stream of the resource's bytes
+     * @throws FileNotFoundException if there is no such resource
+     */
+    private static InputStream openResource(String name) throws FileNotFoundException {
+        InputStream stream = SpriteAtlas.class.getClassLoader().getResourceAsStream(name);
+        if (stream == null) {
+            throw new FileNotFoundException("No " + name + " on the classpath");
+        }
+        return stream;
+    }
+}
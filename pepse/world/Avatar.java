@@ -1,68 +1,70 @@
 package pepse.world;
 import danogl.GameObject;
 import danogl.collisions.Collision;
-import danogl.gui.ImageReader;
 import danogl.gui.UserInputListener;
 import danogl.gui.rendering.AnimationRenderable;
 import danogl.util.Vector2;
+import pepse.util.SpriteAtlas;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
 
 /**
  * A class that creates an avatar object that will be controlled by the user
  */
 public class Avatar extends GameObject {
-    private static final String JUMPED_TAG = "jumped";
     private static final float VELOCITY_X = 200;
+    private static final Vector2 WALK_LEFT = new Vector2(-VELOCITY_X, 0);
+    private static final Vector2 WALK_RIGHT = new Vector2(VELOCITY_X, 0);
     private static final float VELOCITY_Y = -200;
     private static final float GRAVITY = 150;
     private static final int MAX_ENERGY = 100;
     private static final int FRUIT_ADDITIONAL_ENERGY = 10;
+    private static final double ENERGY_REGEN_PER_SECOND = 25;
+    private static final double WALK_ENERGY_PER_SECOND = 12.5;
     private static final String FRUIT_TAG = "fruit";
-    private static final String[] IDLE_PATHS = {"assets/idle_0.png", "assets/idle_1.png",
-            "assets/idle_2.png", "assets/idle_3" +
-            ".png"};
-    private static final String[] RUN_PATHS = {"assets/run_0.png", "assets/run_1.png",
-            "assets/run_2.png", "assets/run_3" +
-            ".png"};
-    private static final String[] JUMP_PATHS = {"assets/jump_0.png", "assets/jump_1.png",
-            "assets/jump_2.png", "assets/jump_3" +
-            ".png"};
-    private static final String ASSETS_IDLE_0_PNG = "assets/idle_0.png";
+    private static final String ATLAS_PATH = "assets/avatar_atlas";
+    private static final String[] IDLE_FRAMES = {"idle_0", "idle_1", "idle_2", "idle_3"};
+    private static final String[] RUN_FRAMES = {"run_0", "run_1", "run_2", "run_3"};
+    private static final String[] JUMP_FRAMES = {"jump_0", "jump_1", "jump_2", "jump_3"};
     private static final float TIME_BETWEEN_CLIPS = 0.1f;
     private static final int AVATAR_SIZE = 50;
+    private static final float DEFAULT_JUMP_RADIUS = 600;
+    private static final int LEFT_KEY = 1;
+    private static final int RIGHT_KEY = 1 << 1;
+    private static final int JUMP_KEY = 1 << 2;
     private double energy = 100;
     private  double JUMP_ENERGY = 10;
-    private  double WALK_ENERGY = 0.5;
     private UserInputListener inputListener;
     private AnimationRenderable idleAnimation;
     private AnimationRenderable runAnimation;
     private AnimationRenderable jumpAnimation;
-    private  ImageReader imageReader;
-    private ArrayList<GameObject> observers = new ArrayList<>();
+    private final JumpDispatcher jumpDispatcher = new JumpDispatcher(DEFAULT_JUMP_RADIUS);
+    private AnimationState animationState = null;
+    private boolean facingLeft = false;
+
+    /**
+     * The animations the avatar can show
+     */
+    private enum AnimationState {
+        IDLE, RUN, JUMP
+    }
 
 
     /**
-     * Creates an avatar object that will be controlled by the user
+     * Creates an avatar object that will be controlled by the user. The frames of its
+     * animations come from the avatar atlas, which is decoded once and shared by all avatars.
      * @param pos the position of the avatar
      * @param inputListener the input listener
-     * @param imageReader the image reader
      */
-    public Avatar(Vector2 pos,UserInputListener inputListener, ImageReader imageReader) {
-        super(pos, Vector2.ONES.mult(AVATAR_SIZE), imageReader.readImage(ASSETS_IDLE_0_PNG, true));
+    public Avatar(Vector2 pos,UserInputListener inputListener) {
+        super(pos, Vector2.ONES.mult(AVATAR_SIZE),
+                SpriteAtlas.get(ATLAS_PATH).frame(IDLE_FRAMES[0]));
         physics().preventIntersectionsFromDirection(Vector2.ZERO);
         transform().setAccelerationY(GRAVITY);
         this.inputListener = inputListener;
-        this.imageReader = imageReader;
-        String[] idlePaths = IDLE_PATHS;
-        String[] runPaths = RUN_PATHS;
-        String[] jumpPaths = JUMP_PATHS;
-        idleAnimation = new AnimationRenderable(idlePaths,
-                imageReader,true, TIME_BETWEEN_CLIPS);
-        runAnimation = new AnimationRenderable(runPaths,
-                imageReader,true,TIME_BETWEEN_CLIPS);
-        jumpAnimation = new AnimationRenderable(jumpPaths,
-                imageReader,true,TIME_BETWEEN_CLIPS);
+        SpriteAtlas atlas = SpriteAtlas.get(ATLAS_PATH);
+        idleAnimation = new AnimationRenderable(atlas.frames(IDLE_FRAMES), TIME_BETWEEN_CLIPS);
+        runAnimation = new AnimationRenderable(atlas.frames(RUN_FRAMES), TIME_BETWEEN_CLIPS);
+        jumpAnimation = new AnimationRenderable(atlas.frames(JUMP_FRAMES), TIME_BETWEEN_CLIPS);
     }
 
 
@@ -76,24 +78,57 @@ public class Avatar extends GameObject {
     }
 
     /**
-     * Registers an observer to the avatar to be notified when the avatar jumps
+     * Sets the energy of the avatar, such as when a saved game is resumed
+     * @param energy the energy, between 0 and 100
+     */
+    public void setEnergy(double energy){
+        this.energy = Math.max(0, Math.min(MAX_ENERGY, energy));
+    }
+
+    /**
+     * Registers an observer to the avatar to be notified when the avatar jumps near it
      * @param observer the observer to be registered
+     * @param x the x coordinate of the observer
+     */
+    public void registerToJumpUpdates(JumpListener observer, float x){
+        jumpDispatcher.subscribe(observer, x);
+    }
+
+    /**
+     * Unregisters an observer that no longer needs to be notified when the avatar jumps
+     * @param observer the observer to be unregistered
+     * @param x the x coordinate the observer was registered with
+     */
+    public void unregisterFromJumpUpdates(JumpListener observer, float x){
+        jumpDispatcher.unsubscribe(observer, x);
+    }
+
+    /**
+     * Sets how far from the avatar observers are still notified about its jumps
+     * @param radius the maximal horizontal distance between the avatar and a notified observer
      */
-    public void registerToJumpUpdates(GameObject observer){
-        observers.add(observer);
+    public void setJumpNotificationRadius(float radius){
+        jumpDispatcher.setRadius(radius);
     }
 
     /**
-     * Notifies the observers that the avatar has jumped
+     * Notifies the observers near the avatar that the avatar has jumped
      */
     private void notifyObserversAboutJump(){
-        for(GameObject observer: observers){
-            observer.setTag(JUMPED_TAG);
-        }
+        JumpEvent event = new JumpEvent();
+        event.begin();
+        float x = getCenter().x();
+        int notified = jumpDispatcher.dispatch(x);
+        event.finish(x - jumpDispatcher.getRadius(), x + jumpDispatcher.getRadius(), notified);
     }
 
     /**
-     * This method is called every frame to update the GameObject's state.
+     * This method is called every frame to update the GameObject's state. Energy is regained
+     * and spent per second, so it changes at the same pace at every frame rate. The keys are
+     * read once per frame, and the renderer and velocity are only touched when they change. On
+     * the ground, the new velocity is one of a few shared vectors, so walking and stopping
+     * allocate nothing. What a frame still allocates is the engine's: the new position it
+     * integrates for a moving avatar, and a new velocity when it changes in the air.
      * @param deltaTime The time elapsed, in seconds, since the last frame. Can
      *                  be used to determine a new position/velocity by multiplying
      *                  this delta with the velocity/acceleration respectively
@@ -104,37 +139,103 @@ public class Avatar extends GameObject {
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
+        int input = readInput();
+        Vector2 velocity = getVelocity();
+        boolean grounded = velocity.y() == 0;
         float xVel = 0;
-        if(energy < MAX_ENERGY && transform().getVelocity().y() == 0
-                && transform().getVelocity().x() == 0){
-            energy = energy + 1 < MAX_ENERGY ? energy + 1 : MAX_ENERGY;
-            renderer().setRenderable(idleAnimation);
+        double regainedEnergy = ENERGY_REGEN_PER_SECOND * deltaTime;
+        double walkEnergy = WALK_ENERGY_PER_SECOND * deltaTime;
+        AnimationState nextState = animationState;
+        boolean nextFacingLeft = facingLeft;
+        if(grounded && velocity.x() == 0){
+            if(energy < MAX_ENERGY){
+                energy = energy + regainedEnergy < MAX_ENERGY ? energy + regainedEnergy :
+                        MAX_ENERGY;
+            }
+            nextState = AnimationState.IDLE;
         }
-        if(inputListener.isKeyPressed(KeyEvent.VK_LEFT)){
-            if(energy > WALK_ENERGY){
-                xVel -= VELOCITY_X;
-                energy = energy - WALK_ENERGY > 0 ? energy - WALK_ENERGY: 0;
-                renderer().setRenderable(runAnimation);
-                renderer().setIsFlippedHorizontally(true);
+        if((input & LEFT_KEY) != 0 && energy > walkEnergy){
+            xVel -= VELOCITY_X;
+            energy = energy - walkEnergy > 0 ? energy - walkEnergy: 0;
+            nextState = AnimationState.RUN;
+            nextFacingLeft = true;
+        }
+        if((input & RIGHT_KEY) != 0 && energy > walkEnergy){
+            xVel += VELOCITY_X;
+            energy = energy - walkEnergy > 0 ? energy - walkEnergy: 0;
+            nextState = AnimationState.RUN;
+            nextFacingLeft = false;
+        }
+        if(xVel != velocity.x()){
+            if(grounded){
+                setVelocity(groundVelocity(xVel));
+            } else {
+                transform().setVelocityX(xVel);
             }
         }
+        if((input & JUMP_KEY) != 0 && grounded && energy > JUMP_ENERGY){
+            transform().setVelocityY(VELOCITY_Y);
+            energy = energy - JUMP_ENERGY > 0 ? energy - JUMP_ENERGY: 0;
+            nextState = AnimationState.JUMP;
+            notifyObserversAboutJump();
+        }
+        showAnimation(nextState, nextFacingLeft);
+    }
+
+    /**
+     * Gets the shared vector of a velocity on the ground
+     * @param xVel the horizontal velocity: VELOCITY_X to either side, or 0
+     * @return the velocity, with no vertical part
+     */
+    private static Vector2 groundVelocity(float xVel) {
+        if(xVel < 0){
+            return WALK_LEFT;
+        }
+        return xVel > 0 ? WALK_RIGHT : Vector2.ZERO;
+    }
+
+    /**
+     * Takes a snapshot of the keys that control the avatar
+     * @return a bitmask of the pressed keys
+     */
+    private int readInput() {
+        int input = 0;
+        if(inputListener.isKeyPressed(KeyEvent.VK_LEFT)){
+            input |= LEFT_KEY;
+        }
         if(inputListener.isKeyPressed(KeyEvent.VK_RIGHT)){
-            if(energy > WALK_ENERGY){
-                xVel += VELOCITY_X;
-                energy = energy - WALK_ENERGY > 0 ? energy - WALK_ENERGY: 0;
-                renderer().setRenderable(runAnimation);
-                renderer().setIsFlippedHorizontally(false);
-            }
+            input |= RIGHT_KEY;
+        }
+        if(inputListener.isKeyPressed(KeyEvent.VK_SPACE)){
+            input |= JUMP_KEY;
         }
-        transform().setVelocityX(xVel);
-        if(inputListener.isKeyPressed(KeyEvent.VK_SPACE) && getVelocity().y() == 0){
-            if(energy > JUMP_ENERGY){
-                transform().setVelocityY(VELOCITY_Y);
-                energy = energy - JUMP_ENERGY > 0 ? energy - JUMP_ENERGY: 0;
-                renderer().setRenderable(jumpAnimation);
-                notifyObserversAboutJump();
+        return input;
+    }
+
+    /**
+     * Shows an animation, swapping the renderable and its direction only when they change
+     * @param state the animation to show, or null to keep the current renderable
+     * @param flipped whether the animation faces left
+     */
+    private void showAnimation(AnimationState state, boolean flipped) {
+        if(state != animationState){
+            animationState = state;
+            switch (state) {
+                case RUN:
+                    renderer().setRenderable(runAnimation);
+                    break;
+                case JUMP:
+                    renderer().setRenderable(jumpAnimation);
+                    break;
+                default:
+                    renderer().setRenderable(idleAnimation);
+                    break;
             }
         }
+        if(flipped != facingLeft){
+            facingLeft = flipped;
+            renderer().setIsFlippedHorizontally(flipped);
+        }
     }
 
     /**
@@ -147,7 +248,8 @@ public class Avatar extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        if(other.getTag().equals(FRUIT_TAG) && other.renderer().getOpaqueness() == 1){
+        GameObject body = CollisionProxy.bodyOf(other);
+        if(body.getTag().equals(FRUIT_TAG) && body.renderer().getOpaqueness() == 1){
             energy  = energy + FRUIT_ADDITIONAL_ENERGY < MAX_ENERGY ? energy +
                     FRUIT_ADDITIONAL_ENERGY : MAX_ENERGY;
         }
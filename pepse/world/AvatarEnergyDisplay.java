@@ -4,15 +4,19 @@ import danogl.GameObject;
 import danogl.gui.rendering.TextRenderable;
 import danogl.util.Vector2;
 
-import java.util.function.Supplier;
+import java.util.function.DoubleSupplier;
 
 /**
- * A class that creates an energy display object that will be rendered as a text
-
+ * A class that creates an energy display object that will be rendered as a text. The texts of
+ * all the percentages the energy can be at are created once, and the display only swaps between
+ * them when the rounded percentage changes.
  */
 public class AvatarEnergyDisplay extends GameObject {
-    private Supplier<Double> energySupplier;
-    private  double presentedEnergy;
+    private static final int MAX_PERCENT = 100;
+    private static final String PERCENT_SIGN = "%";
+    private static final TextRenderable[] PERCENT_TEXTS = createPercentTexts();
+    private final DoubleSupplier energySupplier;
+    private int presentedPercent;
 
     /**
      * Creates an energy display object that will be rendered as a text
@@ -20,12 +24,11 @@ public class AvatarEnergyDisplay extends GameObject {
      * @param topLeftCorner the top left corner of the energy display
      * @param dimensions the dimensions of the energy display
      */
-    public AvatarEnergyDisplay(Supplier<Double> energySupplier, Vector2 topLeftCorner,
+    public AvatarEnergyDisplay(DoubleSupplier energySupplier, Vector2 topLeftCorner,
                                Vector2 dimensions){
-        super(topLeftCorner,dimensions,new TextRenderable(String.format("%.0f%s",
-                energySupplier.get(),"%")));
+        super(topLeftCorner, dimensions, PERCENT_TEXTS[toPercent(energySupplier.getAsDouble())]);
         this.energySupplier = energySupplier;
-        this.presentedEnergy = energySupplier.get();
+        this.presentedPercent = toPercent(energySupplier.getAsDouble());
     }
 
     /**
@@ -35,10 +38,31 @@ public class AvatarEnergyDisplay extends GameObject {
     @Override
     public void update(float deltaTime){
         super.update(deltaTime);
-        double curEnergy = energySupplier.get();
-        if(presentedEnergy != curEnergy){
-            renderer().setRenderable( new TextRenderable(String.format("%.0f%s", curEnergy,"%")));
-            presentedEnergy = curEnergy;
+        int curPercent = toPercent(energySupplier.getAsDouble());
+        if(presentedPercent != curPercent){
+            renderer().setRenderable(PERCENT_TEXTS[curPercent]);
+            presentedPercent = curPercent;
+        }
+    }
+
+    /**
+     * Rounds an energy to the percentage it is displayed as
+     * @param energy the energy
+     * @return the rounded energy, between 0 and 100
+     */
+    private static int toPercent(double energy){
+        return (int) Math.max(0, Math.min(MAX_PERCENT, Math.round(energy)));
+    }
+
+    /**
+     * Creates the texts of every percentage from 0 to 100
+     * @return the texts, indexed by percentage
+     */
+    private static TextRenderable[] createPercentTexts(){
+        TextRenderable[] texts = new TextRenderable[MAX_PERCENT + 1];
+        for (int percent = 0; percent <= MAX_PERCENT; percent++) {
+            texts[percent] = new TextRenderable(percent + PERCENT_SIGN);
         }
+        return texts;
     }
 }
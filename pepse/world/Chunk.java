@@ -0,0 +1,202 @@
+package pepse.world;
+
+import danogl.GameObject;
+import pepse.world.trees.Leaf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A class that holds the game objects of a single vertical slice of the world, together with the
+ * layers they live in, so the slice can be added to and removed from the game as one unit
+ */
+class Chunk {
+    private static final int INITIAL_OBJECT_CAPACITY = 64;
+    private static final int INITIAL_OBSERVER_CAPACITY = 16;
+    private final int index;
+    private final List<GameObject> objects = new ArrayList<>();
+    private int[] layers = new int[INITIAL_OBJECT_CAPACITY];
+    private final List<JumpListener> jumpObservers = new ArrayList<>();
+    private float[] jumpObserverXs = new float[INITIAL_OBSERVER_CAPACITY];
+    private final List<Leaf> leaves = new ArrayList<>();
+    private final BitSet staticBodies = new BitSet();
+    private int insertedCount = 0;
+    private boolean awake = false;
+
+    /**
+     * Creates an empty chunk
+     * @param index the index of the chunk, counted in chunk widths from x = 0
+     */
+    Chunk(int index) {
+        this.index = index;
+    }
+
+    /**
+     * Gets the index of the chunk
+     * @return the index of the chunk
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the x coordinate of the middle of the chunk
+     * @return the x coordinate of the middle of the chunk
+     */
+    float getCenterX() {
+        return index * ChunkManager.CHUNK_WIDTH + ChunkManager.CHUNK_WIDTH / 2f;
+    }
+
+    /**
+     * Gets the number of objects of the chunk, from the start of {@link #getObjects()}, that are
+     * currently in the game
+     * @return the number of objects in the game
+     */
+    int getInsertedCount() {
+        return insertedCount;
+    }
+
+    /**
+     * Sets the number of objects of the chunk, from the start of {@link #getObjects()}, that are
+     * currently in the game
+     * @param insertedCount the number of objects in the game
+     */
+    void setInsertedCount(int insertedCount) {
+        this.insertedCount = insertedCount;
+    }
+
+    /**
+     * Checks whether the chunk is awake, meaning its objects are in the game or scheduled to be
+     * added to it. The objects of a sleeping chunk are kept, but not updated.
+     * @return whether the chunk is awake
+     */
+    boolean isAwake() {
+        return awake;
+    }
+
+    /**
+     * Sets whether the chunk is awake
+     * @param awake whether the chunk is awake
+     */
+    void setAwake(boolean awake) {
+        this.awake = awake;
+    }
+
+    /**
+     * Adds a game object to the chunk
+     * @param object the game object
+     * @param layer the layer the object should be added to
+     */
+    void add(GameObject object, int layer) {
+        int count = objects.size();
+        if (count == layers.length) {
+            layers = Arrays.copyOf(layers, count * 2);
+        }
+        objects.add(object);
+        layers[count] = layer;
+    }
+
+    /**
+     * Adds a game object to the chunk, and marks it as an observer of the avatar's jumps
+     * @param object the game object
+     * @param layer the layer the object should be added to
+     * @param <T> the type of the game object
+     */
+    <T extends GameObject & JumpListener> void addJumpObserver(T object, int layer) {
+        add(object, layer);
+        int count = jumpObservers.size();
+        if (count == jumpObserverXs.length) {
+            jumpObserverXs = Arrays.copyOf(jumpObserverXs, count * 2);
+        }
+        jumpObservers.add(object);
+        jumpObserverXs[count] = object.getCenter().x();
+    }
+
+    /**
+     * Adds a game object to the chunk, as a static body whose collisions are left to the
+     * {@link StaticBroadphase}
+     * @param object the game object
+     * @param layer the layer the object should be drawn in, which collides with nothing
+     */
+    void addStaticBody(GameObject object, int layer) {
+        staticBodies.set(objects.size());
+        add(object, layer);
+    }
+
+    /**
+     * Adds a game object to the chunk, as both a static body and an observer of the avatar's
+     * jumps
+     * @param object the game object
+     * @param layer the layer the object should be drawn in, which collides with nothing
+     * @param <T> the type of the game object
+     */
+    <T extends GameObject & JumpListener> void addStaticJumpObserver(T object, int layer) {
+        staticBodies.set(objects.size());
+        addJumpObserver(object, layer);
+    }
+
+    /**
+     * Adds a leaf to the chunk, as an observer of the avatar's jumps that sways in the wind
+     * @param leaf the leaf
+     * @param layer the layer the leaf should be added to
+     */
+    void addLeaf(Leaf leaf, int layer) {
+        addJumpObserver(leaf, layer);
+        leaves.add(leaf);
+    }
+
+    /**
+     * Gets the leaves of the chunk
+     * @return the leaves of the chunk
+     */
+    List<Leaf> getLeaves() {
+        return leaves;
+    }
+
+    /**
+     * Gets the game objects of the chunk
+     * @return the game objects of the chunk
+     */
+    List<GameObject> getObjects() {
+        return objects;
+    }
+
+    /**
+     * Gets the layer of the game object at the given position of {@link #getObjects()}
+     * @param i the position of the object
+     * @return the layer of the object
+     */
+    int getLayer(int i) {
+        return layers[i];
+    }
+
+    /**
+     * Checks whether the game object at the given position of {@link #getObjects()} is a
+     * static body
+     * @param i the position of the object
+     * @return whether the object is a static body
+     */
+    boolean isStaticBody(int i) {
+        return staticBodies.get(i);
+    }
+
+    /**
+     * Gets the game objects of the chunk that observe the avatar's jumps
+     * @return the jump observers of the chunk
+     */
+    List<JumpListener> getJumpObservers() {
+        return jumpObservers;
+    }
+
+    /**
+     * Gets the x coordinate of the jump observer at the given position of
+     * {@link #getJumpObservers()}
+     * @param i the position of the observer
+     * @return the x coordinate of the observer
+     */
+    float getJumpObserverX(int i) {
+        return jumpObserverXs[i];
+    }
+}
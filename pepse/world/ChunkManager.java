@@ -0,0 +1,395 @@
+package pepse.world;
+
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import pepse.world.trees.Flora;
+import pepse.world.trees.Fruit;
+import pepse.world.trees.Leaf;
+import pepse.world.trees.LeafAnimator;
+import pepse.world.trees.Trunk;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+
+/**
+ * A class that streams the world around the avatar. The world is split into fixed-width chunks;
+ * chunks close to the avatar are created and added to the game, and chunks that fall out of range
+ * are removed, so the number of live game objects does not depend on how far the avatar walked.
+ * Only the chunks in view are awake, meaning their objects are in the game and updated every
+ * frame; the chunks loaded around them sleep, keeping their objects out of the game until they
+ * come into view. Chunks are created on a pool of worker threads, a few chunks ahead of the
+ * view, and handed back through a lock-free queue; the game thread only waits for a worker when
+ * a chunk comes into view before it is done. The game thread adds the finished chunks to the
+ * game and takes sleeping chunks out of it, a few objects per frame through a
+ * {@link FrameBudgetScheduler}.
+ * The ground, trunks and fruits are static bodies, drawn from layers that collide with nothing,
+ * and only the ones around the avatar collide, through a {@link StaticBroadphase}.
+ * The changes the player made are kept apart, in a {@link WorldState}, and applied to every
+ * chunk when it is created, so unloading a chunk simply drops it.
+ */
+public class ChunkManager {
+    /**
+     * The width of a chunk. A multiple of both the block size and the space between trees, so
+     * blocks and trees keep the same positions no matter which chunk creates them.
+     */
+    public static final int CHUNK_WIDTH = Block.SIZE * 20;
+    /**
+     * The layer the ground is drawn in. Like the layers of the other static bodies, it collides
+     * with nothing, and the ground's collisions are left to the {@link StaticBroadphase}.
+     */
+    public static final int GROUND_LAYER = Layer.STATIC_OBJECTS - 20;
+    /**
+     * The layer the trunks are drawn in
+     */
+    public static final int TRUNK_LAYER = Layer.STATIC_OBJECTS - 10;
+    /**
+     * The layer the leaves are drawn in
+     */
+    public static final int LEAF_LAYER = Layer.STATIC_OBJECTS + 1;
+    /**
+     * The layer the fruits are drawn in, above the leaves
+     */
+    public static final int FRUIT_LAYER = Layer.STATIC_OBJECTS + 10;
+    private static final int FLORA_OFFSET_X = Block.SIZE;
+    private static final int PREFETCH_CHUNKS = 2;
+    private static final float FRAME_BUDGET_MILLIS = 2;
+    private static final int WORKER_COUNT =
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+    private static final String WORKER_NAME = "chunk-generator";
+    private final Terrain terrain;
+    private final Flora flora;
+    private final Avatar avatar;
+    private final LeafAnimator leafAnimator;
+    private final boolean mergedTerrain;
+    private final int chunkRadius;
+    private final int visibleRadius;
+    private final Map<Integer, Chunk> loadedChunks = new HashMap<>();
+    private final Map<Integer, ChunkRequest> pendingChunks = new HashMap<>();
+    private final Queue<ChunkRequest> finishedChunks = new ConcurrentLinkedQueue<>();
+    private final WorldState worldState;
+    private final ExecutorService workers;
+    private final FrameBudgetScheduler scheduler;
+    private final StaticBroadphase broadphase;
+    private int centerChunk = Integer.MIN_VALUE;
+
+    /**
+     * Creates a chunk manager
+     * @param gameObjects the collection the chunks' objects are added to
+     * @param terrain the terrain, used to create the ground of each chunk
+     * @param flora the flora, used to create the trees of each chunk
+     * @param avatar the avatar, which is notified about the trees of loaded chunks
+     * @param leafAnimator the animator that sways the leaves of loaded chunks
+     * @param viewWidth the width of the area that should always be covered around the avatar
+     * @param mergedTerrain whether the ground is created as merged strips instead of blocks
+     * @param worldState the changes the player made, which are applied to the chunks
+     */
+    public ChunkManager(GameObjectCollection gameObjects, Terrain terrain, Flora flora,
+                        Avatar avatar, LeafAnimator leafAnimator, float viewWidth,
+                        boolean mergedTerrain, WorldState worldState) {
+        this.broadphase = new StaticBroadphase(gameObjects);
+        this.scheduler = new FrameBudgetScheduler(gameObjects, broadphase, FRAME_BUDGET_MILLIS);
+        StaticBroadphase.disableCollisions(gameObjects, GROUND_LAYER);
+        StaticBroadphase.disableCollisions(gameObjects, TRUNK_LAYER);
+        StaticBroadphase.disableCollisions(gameObjects, FRUIT_LAYER);
+        this.terrain = terrain;
+        this.flora = flora;
+        this.avatar = avatar;
+        this.leafAnimator = leafAnimator;
+        this.mergedTerrain = mergedTerrain;
+        this.worldState = worldState;
+        this.visibleRadius = (int) Math.ceil(viewWidth / 2 / CHUNK_WIDTH);
+        this.chunkRadius = visibleRadius + PREFETCH_CHUNKS;
+        this.workers = Executors.newFixedThreadPool(WORKER_COUNT, task -> {
+            Thread worker = new Thread(task, WORKER_NAME);
+            worker.setDaemon(true);
+            return worker;
+        });
+    }
+
+    /**
+     * Loads the chunks in range of the given x coordinate and unloads the rest. Chunks in range
+     * are requested from the workers, and the ones they finished are scheduled to be added to
+     * the game, nearest first, within the frame's time budget. The range reaches a few chunks
+     * past the view, so a chunk is normally done before it comes into view; one that is visible
+     * but not done yet is waited for and added at once, so the avatar never stands where there
+     * is no ground.
+     * @param focusX the x coordinate the loaded world is centered around
+     */
+    public void update(float focusX) {
+        int chunk = Math.floorDiv((int) Math.floor(focusX), CHUNK_WIDTH);
+        boolean moved = chunk != centerChunk;
+        if (moved) {
+            centerChunk = chunk;
+            unloadOutOfRange();
+            sleepOutOfView();
+            requestInRange();
+        }
+        drainFinishedChunks();
+        if (moved || !pendingChunks.isEmpty() || scheduler.getPendingInsertions() > 0) {
+            loadVisibleChunks();
+        }
+        scheduler.update(focusX);
+    }
+
+    /**
+     * Gets the scheduler that adds and removes the objects of the chunks, and its queue depths
+     * @return the scheduler
+     */
+    public FrameBudgetScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Gets the broadphase the static bodies of the loaded chunks are indexed in
+     * @return the broadphase
+     */
+    public StaticBroadphase getBroadphase() {
+        return broadphase;
+    }
+
+    /**
+     * Stops the workers. Chunks that are still being created are dropped.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Removes the loaded chunks that are out of range, and forgets the requested ones
+     */
+    private void unloadOutOfRange() {
+        Iterator<Map.Entry<Integer, Chunk>> iterator = loadedChunks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Chunk loaded = iterator.next().getValue();
+            if (!isInRange(loaded.getIndex())) {
+                unloadChunk(loaded);
+                iterator.remove();
+            }
+        }
+        Iterator<Map.Entry<Integer, ChunkRequest>> pending = pendingChunks.entrySet().iterator();
+        while (pending.hasNext()) {
+            Map.Entry<Integer, ChunkRequest> entry = pending.next();
+            if (!isInRange(entry.getKey())) {
+                entry.getValue().cancel(false);
+                pending.remove();
+            }
+        }
+    }
+
+    /**
+     * Puts the awake chunks that went out of view to sleep
+     */
+    private void sleepOutOfView() {
+        for (Chunk loaded : loadedChunks.values()) {
+            if (!isVisible(loaded.getIndex())) {
+                sleep(loaded);
+            }
+        }
+    }
+
+    /**
+     * Asks the workers to create every chunk in range that is neither loaded nor requested
+     */
+    private void requestInRange() {
+        for (int index = centerChunk - chunkRadius; index <= centerChunk + chunkRadius; index++) {
+            if (!loadedChunks.containsKey(index) && !pendingChunks.containsKey(index)) {
+                ChunkRequest request = new ChunkRequest(index);
+                pendingChunks.put(index, request);
+                workers.execute(request);
+            }
+        }
+    }
+
+    /**
+     * Schedules the chunks finished by the workers to be added to the game
+     */
+    private void drainFinishedChunks() {
+        ChunkRequest finished;
+        while ((finished = finishedChunks.poll()) != null) {
+            // Requests that were canceled or already waited for are no longer pending. A chunk
+            // that went out of range and back in has a new request, so the old one is dropped
+            // even if it finished anyway.
+            if (pendingChunks.remove(finished.index, finished)) {
+                addChunk(awaitChunk(finished));
+            }
+        }
+    }
+
+    /**
+     * Makes sure every visible chunk is awake and in the game, waiting for the workers if needed
+     */
+    private void loadVisibleChunks() {
+        for (int index = centerChunk - visibleRadius; index <= centerChunk + visibleRadius;
+             index++) {
+            Chunk chunk = loadedChunks.get(index);
+            if (chunk == null) {
+                ChunkRequest pending = pendingChunks.remove(index);
+                chunk = pending == null ? createChunk(index) : awaitChunk(pending);
+                addChunk(chunk);
+            }
+            wake(chunk);
+            scheduler.insertNow(chunk);
+        }
+    }
+
+    /**
+     * Waits for a worker to finish a chunk. Returns at once if it is already done.
+     * @param pending the request of the chunk
+     * @return the chunk
+     */
+    private Chunk awaitChunk(ChunkRequest pending) {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return createChunk(pending.index);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to create chunk " + pending.index,
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Checks whether a chunk is in range of the current center chunk
+     * @param index the index of the chunk
+     * @return whether the chunk is in range
+     */
+    private boolean isInRange(int index) {
+        return Math.abs(index - centerChunk) <= chunkRadius;
+    }
+
+    /**
+     * Checks whether a chunk is in view of the current center chunk
+     * @param index the index of the chunk
+     * @return whether the chunk is visible
+     */
+    private boolean isVisible(int index) {
+        return Math.abs(index - centerChunk) <= visibleRadius;
+    }
+
+    /**
+     * Gets the number of chunks that are currently loaded
+     * @return the number of loaded chunks
+     */
+    public int getLoadedChunkCount() {
+        return loadedChunks.size();
+    }
+
+    /**
+     * Loads a created chunk, applying the changes the player made to it, and schedules its
+     * objects to be added to the game if it is visible
+     * @param chunk the chunk
+     */
+    private void addChunk(Chunk chunk) {
+        worldState.apply(chunk);
+        if (isVisible(chunk.getIndex())) {
+            wake(chunk);
+        }
+        List<JumpListener> observers = chunk.getJumpObservers();
+        for (int i = 0; i < observers.size(); i++) {
+            avatar.registerToJumpUpdates(observers.get(i), chunk.getJumpObserverX(i));
+        }
+        for (Leaf leaf : chunk.getLeaves()) {
+            leafAnimator.add(leaf, leaf.getWindDelay());
+        }
+        loadedChunks.put(chunk.getIndex(), chunk);
+    }
+
+    /**
+     * Schedules removing the objects of the given chunk from the game
+     * @param chunk the chunk
+     */
+    private void unloadChunk(Chunk chunk) {
+        List<JumpListener> observers = chunk.getJumpObservers();
+        for (int i = 0; i < observers.size(); i++) {
+            avatar.unregisterFromJumpUpdates(observers.get(i), chunk.getJumpObserverX(i));
+        }
+        for (Leaf leaf : chunk.getLeaves()) {
+            leafAnimator.remove(leaf);
+        }
+        sleep(chunk);
+    }
+
+    /**
+     * Schedules the objects of a chunk to be added to the game. Does nothing if the chunk is
+     * already awake.
+     * @param chunk the chunk
+     */
+    private void wake(Chunk chunk) {
+        if (!chunk.isAwake()) {
+            chunk.setAwake(true);
+            scheduler.insert(chunk);
+        }
+    }
+
+    /**
+     * Schedules the objects of a chunk to be removed from the game, keeping the chunk itself.
+     * Does nothing if the chunk is already asleep.
+     * @param chunk the chunk
+     */
+    private void sleep(Chunk chunk) {
+        if (chunk.isAwake()) {
+            chunk.setAwake(false);
+            scheduler.remove(chunk);
+        }
+    }
+
+    /**
+     * Creates the ground and trees of the chunk with the given index. Runs on the workers, so
+     * it only creates objects, and leaves adding them to the game to the game thread.
+     * @param index the index of the chunk
+     * @return the chunk
+     */
+    private Chunk createChunk(int index) {
+        Chunk chunk = new Chunk(index);
+        int minX = index * CHUNK_WIDTH;
+        int maxX = minX + CHUNK_WIDTH;
+        if (mergedTerrain) {
+            for (GroundStrip strip : terrain.createMergedInRange(minX, maxX - Block.SIZE)) {
+                chunk.addStaticBody(strip, GROUND_LAYER);
+            }
+        } else {
+            for (Block block : terrain.createInRange(minX, maxX - Block.SIZE)) {
+                chunk.addStaticBody(block, GROUND_LAYER);
+            }
+        }
+        for (Trunk trunk : flora.createInRange(minX + FLORA_OFFSET_X, maxX + FLORA_OFFSET_X)) {
+            chunk.addStaticJumpObserver(trunk, TRUNK_LAYER);
+            for (Leaf leaf : flora.createLeafInRange(trunk.getTopPositionX(),
+                    trunk.getTopPositionY())) {
+                chunk.addLeaf(leaf, LEAF_LAYER);
+            }
+            for (Fruit fruit : flora.createFruitsInRange(trunk.getTopPositionX(),
+                    trunk.getTopPositionY())) {
+                chunk.addStaticJumpObserver(fruit, FRUIT_LAYER);
+            }
+        }
+        return chunk;
+    }
+
+    /**
+     * A chunk requested from the workers. Queues itself once it is done or canceled, so the
+     * game thread can tell it apart from a later request of the same chunk.
+     */
+    private class ChunkRequest extends FutureTask<Chunk> {
+        private final int index;
+
+        ChunkRequest(int index) {
+            super(() -> createChunk(index));
+            this.index = index;
+        }
+
+        @Override
+        protected void done() {
+            finishedChunks.add(this);
+        }
+    }
+}
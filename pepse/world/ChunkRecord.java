@@ -0,0 +1,219 @@
+package pepse.world;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The changes the player made to the trees of a single chunk, compared to how the chunk is
+ * generated: how many times each trunk changed color, and which fruits are green or eaten.
+ * Trunks are identified by their x coordinate and fruits by their position, both of which are
+ * the same every time the chunk is generated. A record is what is saved for a chunk, and is
+ * read into the {@link WorldState} when the chunk is created again.
+ */
+public final class ChunkRecord {
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int TRUNK_BYTES = 2 * Integer.BYTES;
+    private static final int FRUIT_BYTES = 2 * Integer.BYTES + Byte.BYTES + Float.BYTES;
+    private static final int HEADER_BYTES = 2 * Short.BYTES;
+    private static final byte GREEN_FLAG = 1;
+    private int[] trunkXs = new int[INITIAL_CAPACITY];
+    private int[] trunkColorChanges = new int[INITIAL_CAPACITY];
+    private int trunkCount = 0;
+    private int[] fruitXs = new int[INITIAL_CAPACITY];
+    private int[] fruitYs = new int[INITIAL_CAPACITY];
+    private byte[] fruitFlags = new byte[INITIAL_CAPACITY];
+    private float[] fruitRegrowTimes = new float[INITIAL_CAPACITY];
+    private int fruitCount = 0;
+
+    /**
+     * Records a trunk that changed color
+     * @param x the x coordinate of the trunk
+     * @param colorChanges the number of times the trunk changed color
+     */
+    public void addTrunk(int x, int colorChanges) {
+        if (trunkCount == trunkXs.length) {
+            trunkXs = Arrays.copyOf(trunkXs, trunkCount * 2);
+            trunkColorChanges = Arrays.copyOf(trunkColorChanges, trunkCount * 2);
+        }
+        trunkXs[trunkCount] = x;
+        trunkColorChanges[trunkCount] = colorChanges;
+        trunkCount++;
+    }
+
+    /**
+     * Records a fruit that is green, eaten, or both
+     * @param x the x coordinate of the top left corner of the fruit
+     * @param y the y coordinate of the top left corner of the fruit
+     * @param green whether the fruit is green
+     * @param regrowTime the time until the eaten fruit grows back, in seconds, or 0 if the
+     *                   fruit is not eaten
+     */
+    public void addFruit(int x, int y, boolean green, float regrowTime) {
+        if (fruitCount == fruitXs.length) {
+            fruitXs = Arrays.copyOf(fruitXs, fruitCount * 2);
+            fruitYs = Arrays.copyOf(fruitYs, fruitCount * 2);
+            fruitFlags = Arrays.copyOf(fruitFlags, fruitCount * 2);
+            fruitRegrowTimes = Arrays.copyOf(fruitRegrowTimes, fruitCount * 2);
+        }
+        fruitXs[fruitCount] = x;
+        fruitYs[fruitCount] = y;
+        fruitFlags[fruitCount] = green ? GREEN_FLAG : 0;
+        fruitRegrowTimes[fruitCount] = regrowTime;
+        fruitCount++;
+    }
+
+    /**
+     * Checks whether the record holds any change
+     * @return whether the chunk is the same as it is generated
+     */
+    public boolean isEmpty() {
+        return trunkCount == 0 && fruitCount == 0;
+    }
+
+    /**
+     * Gets the number of bytes the record takes when written
+     * @return the size of the record, in bytes
+     */
+    int byteSize() {
+        return HEADER_BYTES + trunkCount * TRUNK_BYTES + fruitCount * FRUIT_BYTES;
+    }
+
+    /**
+     * Writes the record at the position of a buffer, advancing it
+     * @param buffer the buffer
+     */
+    void write(ByteBuffer buffer) {
+        buffer.putShort((short) trunkCount);
+        buffer.putShort((short) fruitCount);
+        for (int i = 0; i < trunkCount; i++) {
+            buffer.putInt(trunkXs[i]);
+            buffer.putInt(trunkColorChanges[i]);
+        }
+        for (int i = 0; i < fruitCount; i++) {
+            buffer.putInt(fruitXs[i]);
+            buffer.putInt(fruitYs[i]);
+            buffer.put(fruitFlags[i]);
+            buffer.putFloat(fruitRegrowTimes[i]);
+        }
+    }
+
+    /**
+     * Checks that a record in a buffer fits in the bytes it was given: that they hold its
+     * counts, and as many trunks and fruits as the counts say
+     * @param buffer the buffer
+     * @param offset the position of the record in the buffer
+     * @param length the number of bytes of the record
+     * @throws IOException if the record does not fit
+     */
+    private static void checkFits(ByteBuffer buffer, int offset, int length) throws IOException {
+        if (length < HEADER_BYTES) {
+            throw new IOException("Chunk record of " + length + " bytes at " + offset +
+                    " is too short");
+        }
+        int trunks = Short.toUnsignedInt(buffer.getShort(offset));
+        int fruits = Short.toUnsignedInt(buffer.getShort(offset + Short.BYTES));
+        int size = HEADER_BYTES + trunks * TRUNK_BYTES + fruits * FRUIT_BYTES;
+        if (size > length) {
+            throw new IOException("Chunk record at " + offset + " holds " + trunks +
+                    " trunks and " + fruits + " fruits, which do not fit in " + length +
+                    " bytes");
+        }
+    }
+
+    /**
+     * Reads a record from a buffer, without changing the buffer's position
+     * @param buffer the buffer
+     * @param offset the position of the record in the buffer
+     * @param length the number of bytes of the record, which must lie within the buffer
+     * @return the record
+     * @throws IOException if the record does not fit in its bytes
+     */
+    static ChunkRecord read(ByteBuffer buffer, int offset, int length) throws IOException {
+        checkFits(buffer, offset, length);
+        ChunkRecord record = new ChunkRecord();
+        int trunks = Short.toUnsignedInt(buffer.getShort(offset));
+        int fruits = Short.toUnsignedInt(buffer.getShort(offset + Short.BYTES));
+        int position = offset + HEADER_BYTES;
+        for (int i = 0; i < trunks; i++, position += TRUNK_BYTES) {
+            record.addTrunk(buffer.getInt(position), buffer.getInt(position + Integer.BYTES));
+        }
+        for (int i = 0; i < fruits; i++, position += FRUIT_BYTES) {
+            int flagsPosition = position + 2 * Integer.BYTES;
+            record.addFruit(buffer.getInt(position), buffer.getInt(position + Integer.BYTES),
+                    (buffer.get(flagsPosition) & GREEN_FLAG) != 0,
+                    buffer.getFloat(flagsPosition + Byte.BYTES));
+        }
+        return record;
+    }
+
+    /**
+     * Gets the number of trunks in the record
+     * @return the number of trunks
+     */
+    int getTrunkCount() {
+        return trunkCount;
+    }
+
+    /**
+     * Gets the x coordinate of a trunk in the record
+     * @param i the index of the trunk in the record
+     * @return the x coordinate of the top of the trunk
+     */
+    int getTrunkX(int i) {
+        return trunkXs[i];
+    }
+
+    /**
+     * Gets the number of times a trunk in the record changed color
+     * @param i the index of the trunk in the record
+     * @return the number of color changes
+     */
+    int getTrunkColorChanges(int i) {
+        return trunkColorChanges[i];
+    }
+
+    /**
+     * Gets the number of fruits in the record
+     * @return the number of fruits
+     */
+    int getFruitCount() {
+        return fruitCount;
+    }
+
+    /**
+     * Gets the x coordinate of a fruit in the record
+     * @param i the index of the fruit in the record
+     * @return the x coordinate of the top left corner of the fruit
+     */
+    int getFruitX(int i) {
+        return fruitXs[i];
+    }
+
+    /**
+     * Gets the y coordinate of a fruit in the record
+     * @param i the index of the fruit in the record
+     * @return the y coordinate of the top left corner of the fruit
+     */
+    int getFruitY(int i) {
+        return fruitYs[i];
+    }
+
+    /**
+     * Checks whether a fruit in the record is green
+     * @param i the index of the fruit in the record
+     * @return whether the fruit is green
+     */
+    boolean isFruitGreen(int i) {
+        return (fruitFlags[i] & GREEN_FLAG) != 0;
+    }
+
+    /**
+     * Gets the time until a fruit in the record grows back
+     * @param i the index of the fruit in the record
+     * @return the time, in seconds, or 0 if the fruit is not eaten
+     */
+    float getFruitRegrowTime(int i) {
+        return fruitRegrowTimes[i];
+    }
+}
@@ -0,0 +1,48 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.collisions.Collision;
+import danogl.components.GameObjectPhysics;
+import danogl.util.Vector2;
+
+/**
+ * An invisible stand-in for a static body, which takes part in collisions on its behalf. It has
+ * the body's position, dimensions and tag, and is as solid as every static body of the world,
+ * and the collisions it has are passed on to the body. Adding and removing a proxy lets a body
+ * start and stop colliding without moving the body itself out of the layer it is drawn in.
+ */
+class CollisionProxy extends GameObject {
+    private final GameObject body;
+
+    /**
+     * Creates a proxy of a body
+     * @param body the static body
+     */
+    CollisionProxy(GameObject body) {
+        super(body.getTopLeftCorner(), body.getDimensions(), null);
+        this.body = body;
+        setTag(body.getTag());
+        physics().preventIntersectionsFromDirection(Vector2.ZERO);
+        physics().setMass(GameObjectPhysics.IMMOVABLE_MASS);
+    }
+
+    /**
+     * Gets the object a collision was really with
+     * @param other the object of the collision, which may be a proxy
+     * @return the body of the proxy, or the object itself if it is not a proxy
+     */
+    static GameObject bodyOf(GameObject other) {
+        return other instanceof CollisionProxy ? ((CollisionProxy) other).body : other;
+    }
+
+    /**
+     * Passes a collision on to the body
+     * @param other The GameObject with which a collision occurred.
+     * @param collision Information regarding this collision.
+     */
+    @Override
+    public void onCollisionEnter(GameObject other, Collision collision) {
+        super.onCollisionEnter(other, collision);
+        body.onCollisionEnter(other, collision);
+    }
+}
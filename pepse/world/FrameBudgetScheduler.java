@@ -0,0 +1,195 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A class that adds chunks to the game and removes them from it a few objects at a time, within
+ * a time budget per frame, so a large region streaming in or out is spread over several frames
+ * instead of stalling one. Insertions come first, nearest chunk first, and removals use what is
+ * left of the budget. Static bodies are indexed in a {@link StaticBroadphase} as they are added,
+ * and taken out of it as they are removed. The number of objects still waiting is exposed for
+ * monitoring.
+ */
+public class FrameBudgetScheduler {
+    private static final int OBJECTS_PER_CLOCK_CHECK = 16;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private final GameObjectCollection gameObjects;
+    private final StaticBroadphase broadphase;
+    private final long budgetNanos;
+    private final List<Chunk> insertions = new ArrayList<>();
+    private final ArrayDeque<Chunk> removals = new ArrayDeque<>();
+    private int pendingInsertions = 0;
+    private int pendingRemovals = 0;
+    private int peakPendingInsertions = 0;
+
+    /**
+     * Creates a scheduler
+     * @param gameObjects the collection objects are added to and removed from
+     * @param broadphase the broadphase static bodies are indexed in
+     * @param budgetMillis the time that may be spent on insertions and removals per frame
+     */
+    public FrameBudgetScheduler(GameObjectCollection gameObjects, StaticBroadphase broadphase,
+                                float budgetMillis) {
+        this.gameObjects = gameObjects;
+        this.broadphase = broadphase;
+        this.budgetNanos = (long) (budgetMillis * NANOS_PER_MILLI);
+    }
+
+    /**
+     * Schedules adding the objects of a chunk to the game. Objects of the chunk that are still
+     * waiting to be removed are kept in the game.
+     * @param chunk the chunk
+     */
+    void insert(Chunk chunk) {
+        if (removals.remove(chunk)) {
+            pendingRemovals -= chunk.getInsertedCount();
+        }
+        insertions.add(chunk);
+        pendingInsertions += chunk.getObjects().size() - chunk.getInsertedCount();
+        peakPendingInsertions = Math.max(peakPendingInsertions, pendingInsertions);
+    }
+
+    /**
+     * Adds the objects of a chunk that are still waiting to the game right away, ignoring the
+     * budget. Does nothing if none of them are waiting.
+     * @param chunk the chunk
+     */
+    void insertNow(Chunk chunk) {
+        if (insertions.remove(chunk)) {
+            insertSome(chunk, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Schedules removing the objects of a chunk from the game. Objects of the chunk that are
+     * still waiting to be added are never added.
+     * @param chunk the chunk
+     */
+    void remove(Chunk chunk) {
+        if (insertions.remove(chunk)) {
+            pendingInsertions -= chunk.getObjects().size() - chunk.getInsertedCount();
+        }
+        if (chunk.getInsertedCount() > 0) {
+            removals.add(chunk);
+            pendingRemovals += chunk.getInsertedCount();
+        }
+    }
+
+    /**
+     * Adds and removes waiting objects until the frame's budget runs out. At least a few
+     * objects are added and a few removed on every frame that has any waiting.
+     * @param focusX the x coordinate insertions are prioritized around
+     */
+    public void update(float focusX) {
+        long deadline = System.nanoTime() + budgetNanos;
+        do {
+            Chunk nearest = nearestInsertion(focusX);
+            if (nearest == null) {
+                break;
+            }
+            if (insertSome(nearest, OBJECTS_PER_CLOCK_CHECK)) {
+                insertions.remove(nearest);
+            }
+        } while (System.nanoTime() < deadline);
+        do {
+            Chunk removal = removals.peek();
+            if (removal == null) {
+                break;
+            }
+            if (removeSome(removal, OBJECTS_PER_CLOCK_CHECK)) {
+                removals.poll();
+            }
+        } while (System.nanoTime() < deadline);
+    }
+
+    /**
+     * Gets the number of objects waiting to be added to the game
+     * @return the number of objects waiting to be added
+     */
+    public int getPendingInsertions() {
+        return pendingInsertions;
+    }
+
+    /**
+     * Gets the number of objects waiting to be removed from the game
+     * @return the number of objects waiting to be removed
+     */
+    public int getPendingRemovals() {
+        return pendingRemovals;
+    }
+
+    /**
+     * Gets the largest number of objects that waited to be added to the game at once
+     * @return the peak number of objects waiting to be added
+     */
+    public int getPeakPendingInsertions() {
+        return peakPendingInsertions;
+    }
+
+    /**
+     * Finds the waiting chunk closest to an x coordinate
+     * @param focusX the x coordinate
+     * @return the closest chunk, or null if no chunk is waiting
+     */
+    private Chunk nearestInsertion(float focusX) {
+        Chunk nearest = null;
+        float nearestDistance = Float.MAX_VALUE;
+        for (int i = 0; i < insertions.size(); i++) {
+            Chunk chunk = insertions.get(i);
+            float distance = Math.abs(chunk.getCenterX() - focusX);
+            if (distance < nearestDistance) {
+                nearest = chunk;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Adds the next waiting objects of a chunk to the game
+     * @param chunk the chunk
+     * @param count the maximal number of objects to add
+     * @return whether all the objects of the chunk are in the game now
+     */
+    private boolean insertSome(Chunk chunk, int count) {
+        List<GameObject> objects = chunk.getObjects();
+        int i = chunk.getInsertedCount();
+        int end = (int) Math.min(objects.size(), (long) i + count);
+        for (; i < end; i++) {
+            gameObjects.addGameObject(objects.get(i), chunk.getLayer(i));
+            if (chunk.isStaticBody(i)) {
+                broadphase.add(objects.get(i));
+            }
+        }
+        pendingInsertions -= end - chunk.getInsertedCount();
+        chunk.setInsertedCount(end);
+        return end == objects.size();
+    }
+
+    /**
+     * Removes the last added objects of a chunk from the game
+     * @param chunk the chunk
+     * @param count the maximal number of objects to remove
+     * @return whether none of the objects of the chunk are in the game now
+     */
+    private boolean removeSome(Chunk chunk, int count) {
+        List<GameObject> objects = chunk.getObjects();
+        int i = chunk.getInsertedCount();
+        int end = Math.max(0, i - count);
+        while (i > end) {
+            i--;
+            gameObjects.removeGameObject(objects.get(i), chunk.getLayer(i));
+            if (chunk.isStaticBody(i)) {
+                broadphase.remove(objects.get(i));
+            }
+        }
+        pendingRemovals -= chunk.getInsertedCount() - end;
+        chunk.setInsertedCount(end);
+        return end == 0;
+    }
+}
@@ -0,0 +1,52 @@
+package pepse.world;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event of creating the objects of a range of the world: the generator that
+ * created them, the range, how many objects it created, and how long it took. The event is
+ * disabled by default, and costs next to nothing until a recording enables it, for example with
+ * {@code -XX:StartFlightRecording:settings=profile,+pepse.WorldGeneration#enabled=true}.
+ */
+@Name("pepse.WorldGeneration")
+@Label("World Generation")
+@Description("Objects created for a range of the world")
+@Category({"Pepse", "World"})
+@StackTrace(false)
+@Enabled(false)
+public class GenerationEvent extends Event {
+    @Label("Generator")
+    private String generator;
+
+    @Label("Min X")
+    private int minX;
+
+    @Label("Max X")
+    private int maxX;
+
+    @Label("Objects")
+    private int objectCount;
+
+    /**
+     * Ends the event and commits it, if it is enabled and long enough to be recorded
+     * @param generator the name of the generator that created the objects
+     * @param minX the minimum x value of the range
+     * @param maxX the maximum x value of the range
+     * @param objectCount the number of objects created
+     */
+    public void finish(String generator, int minX, int maxX, int objectCount) {
+        if (shouldCommit()) {
+            this.generator = generator;
+            this.minX = minX;
+            this.maxX = maxX;
+            this.objectCount = objectCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.components.GameObjectPhysics;
+import danogl.gui.rendering.Renderable;
+import danogl.util.Vector2;
+
+/**
+ * A class that creates a single ground object covering a run of adjacent terrain columns of the
+ * same height, replacing the stack of blocks each of those columns would otherwise need
+ */
+public class GroundStrip extends GameObject {
+
+    /**
+     * Creates a ground strip
+     * @param topLeftCorner the top left corner of the strip
+     * @param dimensions the dimensions of the strip
+     * @param renderable the renderable object, usually a texture with a texel per block
+     */
+    public GroundStrip(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable) {
+        super(topLeftCorner, dimensions, renderable);
+        physics().preventIntersectionsFromDirection(Vector2.ZERO);
+        physics().setMass(GameObjectPhysics.IMMOVABLE_MASS);
+    }
+}
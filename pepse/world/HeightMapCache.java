@@ -0,0 +1,117 @@
+package pepse.world;
+
+/**
+ * A bounded cache of terrain heights at block aligned x values. Heights are kept in pages of
+ * consecutive columns stored in primitive arrays, and when the cache is full the least recently
+ * used page is recomputed in place, so a lookup never boxes and, once the cache is warm,
+ * never allocates. Safe to use from several threads.
+ */
+class HeightMapCache {
+    /**
+     * The number of consecutive columns kept in a single page
+     */
+    static final int PAGE_COLUMNS = 64;
+    private static final int NO_SLOT = -1;
+
+    /**
+     * Computes the heights of consecutive columns
+     */
+    interface ColumnHeights {
+        /**
+         * Computes the heights of consecutive columns
+         * @param firstColumn the index of the first column, counted in blocks from x = 0
+         * @param out the array the heights are written to, one per column
+         */
+        void computeHeights(int firstColumn, float[] out);
+    }
+
+    private final ColumnHeights columnHeights;
+    private final int[] pageIndices;
+    private final long[] lastUsed;
+    private final float[][] pages;
+    private int usedSlots = 0;
+    private long clock = 0;
+    private int lastSlot = NO_SLOT;
+
+    /**
+     * Creates an empty cache
+     * @param columnHeights computes the heights of a page on a cache miss
+     * @param capacity the maximal number of pages kept at once
+     */
+    HeightMapCache(ColumnHeights columnHeights, int capacity) {
+        this.columnHeights = columnHeights;
+        this.pageIndices = new int[capacity];
+        this.lastUsed = new long[capacity];
+        this.pages = new float[capacity][PAGE_COLUMNS];
+    }
+
+    /**
+     * Returns the height of a single column
+     * @param column the index of the column, counted in blocks from x = 0
+     * @return the height of the column
+     */
+    synchronized float heightAt(int column) {
+        int slot = slotOf(Math.floorDiv(column, PAGE_COLUMNS));
+        return pages[slot][Math.floorMod(column, PAGE_COLUMNS)];
+    }
+
+    /**
+     * Copies the heights of consecutive columns into an array
+     * @param firstColumn the index of the first column, counted in blocks from x = 0
+     * @param count the number of columns
+     * @param out the array the heights are written to, starting at index 0
+     */
+    synchronized void heightsInRange(int firstColumn, int count, float[] out) {
+        int written = 0;
+        while (written < count) {
+            int column = firstColumn + written;
+            int offset = Math.floorMod(column, PAGE_COLUMNS);
+            int length = Math.min(PAGE_COLUMNS - offset, count - written);
+            int slot = slotOf(Math.floorDiv(column, PAGE_COLUMNS));
+            System.arraycopy(pages[slot], offset, out, written, length);
+            written += length;
+        }
+    }
+
+    /**
+     * Finds the slot that holds the given page, computing the page if it is not cached
+     * @param page the index of the page
+     * @return the slot holding the page
+     */
+    private int slotOf(int page) {
+        clock++;
+        if (lastSlot != NO_SLOT && pageIndices[lastSlot] == page) {
+            lastUsed[lastSlot] = clock;
+            return lastSlot;
+        }
+        int slot = NO_SLOT;
+        for (int i = 0; i < usedSlots; i++) {
+            if (pageIndices[i] == page) {
+                slot = i;
+                break;
+            }
+        }
+        if (slot == NO_SLOT) {
+            slot = usedSlots < pages.length ? usedSlots++ : leastRecentlyUsedSlot();
+            pageIndices[slot] = page;
+            columnHeights.computeHeights(page * PAGE_COLUMNS, pages[slot]);
+        }
+        lastUsed[slot] = clock;
+        lastSlot = slot;
+        return slot;
+    }
+
+    /**
+     * Finds the slot whose page was used the longest time ago
+     * @return the least recently used slot
+     */
+    private int leastRecentlyUsedSlot() {
+        int slot = 0;
+        for (int i = 1; i < usedSlots; i++) {
+            if (lastUsed[i] < lastUsed[slot]) {
+                slot = i;
+            }
+        }
+        return slot;
+    }
+}
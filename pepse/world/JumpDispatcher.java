@@ -0,0 +1,157 @@
+package pepse.world;
+
+import pepse.util.IntObjectHashMap;
+
+/**
+ * A class that delivers jump events to the listeners subscribed to them. Listeners are indexed
+ * in a uniform grid of block-wide columns, and a jump is delivered only to the listeners within
+ * a radius of it, so its cost depends on how much world is around the jump and not on how much
+ * world is loaded. Dispatching an event allocates nothing, and listeners can unsubscribe once
+ * they leave the world.
+ */
+public class JumpDispatcher {
+    private static final int CELL_SIZE = Block.SIZE;
+    private final IntObjectHashMap<Cell> cells = new IntObjectHashMap<>();
+    private float radius;
+    private int listenerCount = 0;
+
+    /**
+     * Creates a dispatcher with no listeners
+     * @param radius the maximal horizontal distance between a jump and the listeners it
+     *               is delivered to
+     */
+    public JumpDispatcher(float radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Gets the maximal horizontal distance between a jump and the listeners it is delivered to
+     * @return the radius
+     */
+    public float getRadius() {
+        return radius;
+    }
+
+    /**
+     * Sets the maximal horizontal distance between a jump and the listeners it is delivered to
+     * @param radius the radius
+     */
+    public void setRadius(float radius) {
+        this.radius = radius;
+    }
+
+    /**
+     * Subscribes a listener to jump events
+     * @param listener the listener
+     * @param x the x coordinate of the listener
+     */
+    public void subscribe(JumpListener listener, float x) {
+        int column = columnOf(x);
+        Cell cell = cells.get(column);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(column, cell);
+        }
+        cell.add(listener);
+        listenerCount++;
+    }
+
+    /**
+     * Unsubscribes a listener from jump events. Does nothing if the listener is not subscribed.
+     * @param listener the listener
+     * @param x the x coordinate the listener was subscribed with
+     */
+    public void unsubscribe(JumpListener listener, float x) {
+        int column = columnOf(x);
+        Cell cell = cells.get(column);
+        if (cell != null && cell.remove(listener)) {
+            listenerCount--;
+            if (cell.size == 0) {
+                cells.remove(column);
+            }
+        }
+    }
+
+    /**
+     * Notifies the subscribed listeners within the radius of a jump about it
+     * @param x the x coordinate of the jump
+     * @return the number of listeners notified
+     */
+    public int dispatch(float x) {
+        int notified = 0;
+        int lastColumn = columnOf(x + radius);
+        for (int column = columnOf(x - radius); column <= lastColumn; column++) {
+            Cell cell = cells.get(column);
+            if (cell != null) {
+                notified += cell.dispatch();
+            }
+        }
+        return notified;
+    }
+
+    /**
+     * Gets the number of subscribed listeners
+     * @return the number of subscribed listeners
+     */
+    public int getListenerCount() {
+        return listenerCount;
+    }
+
+    /**
+     * Returns the grid column of an x coordinate
+     * @param x the x coordinate
+     * @return the column
+     */
+    private static int columnOf(float x) {
+        return Math.floorDiv((int) Math.floor(x), CELL_SIZE);
+    }
+
+    /**
+     * The listeners of a single grid column, kept in a plain array
+     */
+    private static class Cell {
+        private static final int INITIAL_CAPACITY = 8;
+        private JumpListener[] listeners = new JumpListener[INITIAL_CAPACITY];
+        private int size = 0;
+
+        /**
+         * Adds a listener to the column
+         * @param listener the listener
+         */
+        void add(JumpListener listener) {
+            if (size == listeners.length) {
+                JumpListener[] grown = new JumpListener[listeners.length * 2];
+                System.arraycopy(listeners, 0, grown, 0, size);
+                listeners = grown;
+            }
+            listeners[size++] = listener;
+        }
+
+        /**
+         * Removes a listener from the column
+         * @param listener the listener
+         * @return whether the listener was in the column
+         */
+        boolean remove(JumpListener listener) {
+            for (int i = 0; i < size; i++) {
+                if (listeners[i] == listener) {
+                    listeners[i] = listeners[--size];
+                    listeners[size] = null;
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Notifies every listener of the column about a jump
+         * @return the number of listeners notified
+         */
+        int dispatch() {
+            for (int i = 0; i < size; i++) {
+                listeners[i].onJump();
+            }
+            return size;
+        }
+    }
+}
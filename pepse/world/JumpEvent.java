@@ -0,0 +1,47 @@
+package pepse.world;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A Flight Recorder event of the avatar's jump being delivered to the listeners around it: the
+ * range the jump reached, how many listeners were notified, and how long notifying them took.
+ * Like {@link GenerationEvent}, it is disabled by default, and enabled by a recording with
+ * {@code +pepse.JumpPropagation#enabled=true}.
+ */
+@Name("pepse.JumpPropagation")
+@Label("Jump Propagation")
+@Description("A jump delivered to the listeners around the avatar")
+@Category({"Pepse", "World"})
+@StackTrace(false)
+@Enabled(false)
+public class JumpEvent extends Event {
+    @Label("Min X")
+    private float minX;
+
+    @Label("Max X")
+    private float maxX;
+
+    @Label("Listeners")
+    private int listenerCount;
+
+    /**
+     * Ends the event and commits it, if it is enabled and long enough to be recorded
+     * @param minX the minimum x value the jump reached
+     * @param maxX the maximum x value the jump reached
+     * @param listenerCount the number of listeners notified
+     */
+    public void finish(float minX, float maxX, int listenerCount) {
+        if (shouldCommit()) {
+            this.minX = minX;
+            this.maxX = maxX;
+            this.listenerCount = listenerCount;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package pepse.world;
+
+/**
+ * A listener that is notified whenever the avatar jumps
+ */
+@FunctionalInterface
+public interface JumpListener {
+    /**
+     * Called once for every jump of the avatar
+     */
+    void onJump();
+}
@@ -0,0 +1,50 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.gui.rendering.TextRenderable;
+import danogl.util.Vector2;
+import pepse.util.FrameMetrics;
+
+/**
+ * A class that creates a metrics display object that will be rendered as a text. The display
+ * shows a summary of the frame metrics of the last half second, and only changes its text when
+ * a new summary is due, so it does not allocate on every frame.
+ */
+public class MetricsDisplay extends GameObject {
+    private static final float REFRESH_TIME = 0.5f;
+    private static final String INITIAL_TEXT = "";
+    private final FrameMetrics metrics;
+    private final TextRenderable text;
+    private float timeSinceRefresh = 0;
+
+    /**
+     * Creates a metrics display object that will be rendered as a text
+     * @param metrics the metrics to display
+     * @param topLeftCorner the top left corner of the metrics display
+     * @param dimensions the dimensions of the metrics display
+     */
+    public MetricsDisplay(FrameMetrics metrics, Vector2 topLeftCorner, Vector2 dimensions) {
+        this(metrics, topLeftCorner, dimensions, new TextRenderable(INITIAL_TEXT));
+    }
+
+    private MetricsDisplay(FrameMetrics metrics, Vector2 topLeftCorner, Vector2 dimensions,
+                           TextRenderable text) {
+        super(topLeftCorner, dimensions, text);
+        this.metrics = metrics;
+        this.text = text;
+    }
+
+    /**
+     * Updates the metrics display with a new summary, twice a second
+     * @param deltaTime the time since the last update
+     */
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        timeSinceRefresh += deltaTime;
+        if (timeSinceRefresh >= REFRESH_TIME) {
+            timeSinceRefresh = 0;
+            text.setString(metrics.summarizeRecent());
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectCollection;
+import danogl.collisions.Layer;
+import pepse.util.IntObjectHashMap;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A class that lets only the static bodies around the avatar take part in collisions. Static
+ * bodies are drawn from layers that collide with nothing, and are indexed in a uniform grid of
+ * block-wide columns. Every frame the grid is queried around the avatar, and each body in the
+ * queried columns gets a {@link CollisionProxy} in the colliding layer, which collides with the
+ * avatar but not with other static bodies. Only bodies that enter or leave the queried columns
+ * are touched, so the cost of collisions per frame depends on how much world is around the
+ * avatar, and not on how much world is loaded.
+ */
+public class StaticBroadphase {
+    private static final int CELL_SIZE = Block.SIZE;
+    private static final int COLLIDING_LAYER = Layer.STATIC_OBJECTS;
+    private static final float MARGIN = 2 * Block.SIZE;
+    private final GameObjectCollection gameObjects;
+    private final IntObjectHashMap<Cell> cells = new IntObjectHashMap<>();
+    private final Map<GameObject, Body> bodies = new IdentityHashMap<>();
+    private int firstColumn = 0;
+    private int lastColumn = -1;
+    private int collidingCount = 0;
+
+    /**
+     * Creates a broadphase with no bodies
+     * @param gameObjects the collection the proxies of the colliding bodies are added to
+     */
+    public StaticBroadphase(GameObjectCollection gameObjects) {
+        this.gameObjects = gameObjects;
+        gameObjects.layers().shouldLayersCollide(COLLIDING_LAYER, COLLIDING_LAYER, false);
+        gameObjects.layers().shouldLayersCollide(COLLIDING_LAYER, Layer.DEFAULT, true);
+    }
+
+    /**
+     * Makes a layer of static bodies collide with nothing, leaving their collisions to the
+     * broadphase
+     * @param gameObjects the collection of the layer
+     * @param layer the layer
+     */
+    public static void disableCollisions(GameObjectCollection gameObjects, int layer) {
+        gameObjects.layers().shouldLayersCollide(layer, layer, false);
+        gameObjects.layers().shouldLayersCollide(layer, Layer.DEFAULT, false);
+    }
+
+    /**
+     * Indexes a static body. The body starts colliding at once if it is in the queried columns.
+     * @param body the body, which must never move
+     */
+    public void add(GameObject body) {
+        Body added = new Body(body);
+        bodies.put(body, added);
+        int last = lastColumnOf(body);
+        for (int column = firstColumnOf(body); column <= last; column++) {
+            Cell cell = cells.get(column);
+            if (cell == null) {
+                cell = new Cell();
+                cells.put(column, cell);
+            }
+            cell.add(added);
+            if (column >= firstColumn && column <= lastColumn) {
+                enter(added);
+            }
+        }
+    }
+
+    /**
+     * Removes a static body from the index, and stops it from colliding. Does nothing if the
+     * body is not indexed.
+     * @param body the body
+     */
+    public void remove(GameObject body) {
+        Body removed = bodies.remove(body);
+        if (removed == null) {
+            return;
+        }
+        int last = lastColumnOf(body);
+        for (int column = firstColumnOf(body); column <= last; column++) {
+            Cell cell = cells.get(column);
+            if (cell != null) {
+                cell.remove(removed);
+                if (cell.size == 0) {
+                    cells.remove(column);
+                }
+            }
+        }
+        if (removed.queriedColumns > 0) {
+            removed.queriedColumns = 0;
+            gameObjects.removeGameObject(removed.proxy, COLLIDING_LAYER);
+            collidingCount--;
+        }
+    }
+
+    /**
+     * Lets the bodies around a moving object collide, and stops the rest. Does nothing if the
+     * object is still around the same columns.
+     * @param mover the moving object
+     */
+    public void update(GameObject mover) {
+        float left = mover.getTopLeftCorner().x();
+        int first = columnOf(left - MARGIN);
+        int last = columnOf(left + mover.getDimensions().x() + MARGIN);
+        if (first == firstColumn && last == lastColumn) {
+            return;
+        }
+        for (int column = firstColumn; column <= lastColumn; column++) {
+            if (column < first || column > last) {
+                Cell cell = cells.get(column);
+                if (cell != null) {
+                    cell.leave(this);
+                }
+            }
+        }
+        for (int column = first; column <= last; column++) {
+            if (column < firstColumn || column > lastColumn) {
+                Cell cell = cells.get(column);
+                if (cell != null) {
+                    cell.enter(this);
+                }
+            }
+        }
+        firstColumn = first;
+        lastColumn = last;
+    }
+
+    /**
+     * Gets the number of indexed bodies
+     * @return the number of indexed bodies
+     */
+    public int getBodyCount() {
+        return bodies.size();
+    }
+
+    /**
+     * Gets the number of bodies that currently take part in collisions
+     * @return the number of colliding bodies
+     */
+    public int getCollidingCount() {
+        return collidingCount;
+    }
+
+    /**
+     * Counts a queried column of a body, and lets the body collide if it is the first one
+     * @param body the body
+     */
+    private void enter(Body body) {
+        if (body.queriedColumns++ == 0) {
+            if (body.proxy == null) {
+                body.proxy = new CollisionProxy(body.object);
+            }
+            gameObjects.addGameObject(body.proxy, COLLIDING_LAYER);
+            collidingCount++;
+        }
+    }
+
+    /**
+     * Uncounts a queried column of a body, and stops the body from colliding if it was the
+     * last one
+     * @param body the body
+     */
+    private void leave(Body body) {
+        if (--body.queriedColumns == 0) {
+            gameObjects.removeGameObject(body.proxy, COLLIDING_LAYER);
+            collidingCount--;
+        }
+    }
+
+    /**
+     * Returns the grid column of an x coordinate
+     * @param x the x coordinate
+     * @return the column
+     */
+    private static int columnOf(float x) {
+        return Math.floorDiv((int) Math.floor(x), CELL_SIZE);
+    }
+
+    private static int firstColumnOf(GameObject body) {
+        return columnOf(body.getTopLeftCorner().x());
+    }
+
+    private static int lastColumnOf(GameObject body) {
+        // A body that ends exactly on a column's edge does not reach into that column
+        return columnOf(Math.nextDown(body.getTopLeftCorner().x() + body.getDimensions().x()));
+    }
+
+    /**
+     * A static body, with its proxy and the number of its columns that are queried
+     */
+    private static class Body {
+        private final GameObject object;
+        private CollisionProxy proxy;
+        private int queriedColumns = 0;
+
+        Body(GameObject object) {
+            this.object = object;
+        }
+    }
+
+    /**
+     * The bodies of a single grid column, kept in a plain array
+     */
+    private static class Cell {
+        private static final int INITIAL_CAPACITY = 8;
+        private Body[] bodies = new Body[INITIAL_CAPACITY];
+        private int size = 0;
+
+        /**
+         * Adds a body to the column
+         * @param body the body
+         */
+        void add(Body body) {
+            if (size == bodies.length) {
+                Body[] grown = new Body[bodies.length * 2];
+                System.arraycopy(bodies, 0, grown, 0, size);
+                bodies = grown;
+            }
+            bodies[size++] = body;
+        }
+
+        /**
+         * Removes a body from the column
+         * @param body the body
+         */
+        void remove(Body body) {
+            for (int i = 0; i < size; i++) {
+                if (bodies[i] == body) {
+                    bodies[i] = bodies[--size];
+                    bodies[size] = null;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Counts the column as queried for every body in it
+         * @param broadphase the broadphase of the column
+         */
+        void enter(StaticBroadphase broadphase) {
+            for (int i = 0; i < size; i++) {
+                broadphase.enter(bodies[i]);
+            }
+        }
+
+        /**
+         * Uncounts the column as queried for every body in it
+         * @param broadphase the broadphase of the column
+         */
+        void leave(StaticBroadphase broadphase) {
+            for (int i = 0; i < size; i++) {
+                broadphase.leave(bodies[i]);
+            }
+        }
+    }
+}
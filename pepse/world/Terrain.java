@@ -6,20 +6,29 @@ import pepse.util.NoiseGenerator;
 import java.util.ArrayList;
 import java.util.List;
 import java.awt.Color;
+import java.awt.image.BufferedImage;
+import danogl.gui.rendering.ImageRenderable;
 import danogl.gui.rendering.RectangleRenderable;
 import pepse.util.ColorSupplier;
+import pepse.util.RenderablePalette;
 
 /**
  * A class that creates a terrain object that will be rendered as a series of blocks
  */
 public class Terrain {
     private static final String GROUND_TAG = "ground";
+    private static final String BLOCKS_GENERATOR = "terrain.blocks";
+    private static final String STRIPS_GENERATOR = "terrain.strips";
     private float groundHeightAtX0;
     private final NoiseGenerator noiseGenerator;
     private static final Color BASE_GROUND_COLOR  = new Color(212, 123, 74);
     private static final int TERRAIN_DEPTH = 20;
     private static final int TERRAIN_NOISE_FACTOR = Block.SIZE * 7;
+    private static final int HEIGHT_CACHE_PAGES = 64;
+    private static final int GROUND_COLOR_DELTA = 10;
     private final int BLOCK_SIZE = Block.SIZE;
+    private final int seed;
+    private final HeightMapCache heightCache;
 
 
     /**
@@ -28,21 +37,68 @@ public class Terrain {
      * @param seed the seed for the noise generator
      */
     public Terrain(Vector2 windowDimensions, int seed){
+        this.seed = seed;
         groundHeightAtX0 = windowDimensions.y() * ((float) 2 /3);
         noiseGenerator = new NoiseGenerator(seed,(int)groundHeightAtX0);
-
+        heightCache = new HeightMapCache(this::computeHeights, HEIGHT_CACHE_PAGES);
     }
 
     /**
-     * Returns the height of the terrain at a given x coordinate
+     * Returns the height of the terrain at a given x coordinate. Heights at block aligned x
+     * coordinates are served from a bounded cache.
      * @param x the x coordinate
      * @return the height of the terrain at the given x coordinate
      */
     public float groundHeightAt(float x) {
+        int column = (int) x / BLOCK_SIZE;
+        if (column * BLOCK_SIZE == x) {
+            return heightCache.heightAt(column);
+        }
+        return computeHeightAt(x);
+    }
+
+    /**
+     * Writes the heights of the block aligned columns covering a given range into an array,
+     * one per column from left to right. The columns are the same ones
+     * {@link #createInRange(int, int)} creates for the range.
+     * @param minX the minimum x value
+     * @param maxX the maximum x value
+     * @param out the array the heights are written to, starting at index 0
+     * @return the number of heights written
+     * @throws IllegalArgumentException if out is too small to hold the heights of the range
+     */
+    public int groundHeightsInRange(int minX, int maxX, float[] out) {
+        int startX = alignedStartX(minX);
+        int count = (alignedEndX(maxX) - startX) / BLOCK_SIZE + 1;
+        if (out.length < count) {
+            throw new IllegalArgumentException("Expected room for " + count + " heights, got " +
+                    out.length);
+        }
+        heightCache.heightsInRange(startX / BLOCK_SIZE, count, out);
+        return count;
+    }
+
+    /**
+     * Computes the height of the terrain at a given x coordinate, without the cache
+     * @param x the x coordinate
+     * @return the height of the terrain at the given x coordinate
+     */
+    private float computeHeightAt(float x) {
         float noise = (float) noiseGenerator.noise(x, TERRAIN_NOISE_FACTOR);
         return groundHeightAtX0 + noise;
     }
 
+    /**
+     * Computes the heights of consecutive columns, used to fill the height cache
+     * @param firstColumn the index of the first column, counted in blocks from x = 0
+     * @param out the array the heights are written to, one per column
+     */
+    private void computeHeights(int firstColumn, float[] out) {
+        for (int i = 0; i < out.length; i++) {
+            out[i] = computeHeightAt((float) (firstColumn + i) * BLOCK_SIZE);
+        }
+    }
+
 
     /**
      * Creates a list of blocks within a given range
@@ -51,30 +107,125 @@ public class Terrain {
      * @return a list of blocks
      */
     public List<Block> createInRange(int minX, int maxX) {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
         List<Block> blocks = new ArrayList<>();
-
-        // Adjust minX and maxX to ensure coverage and align with BLOCK_SIZE
-        int startX = Math.floorDiv(minX, BLOCK_SIZE) * BLOCK_SIZE;
-        if (startX > minX) {
-            startX -= BLOCK_SIZE;
-        }
-        int endX = Math.floorDiv(maxX, BLOCK_SIZE) * BLOCK_SIZE;
-        if (endX < maxX) {
-            endX += BLOCK_SIZE;
-        }
+        int startX = alignedStartX(minX);
+        int endX = alignedEndX(maxX);
 
         // Generate blocks column by column
         for (int x = startX; x <= endX; x += BLOCK_SIZE) {
-            int topY = Math.floorDiv((int)groundHeightAt(x), BLOCK_SIZE) * BLOCK_SIZE;
+            int topY = columnTopY(x);
             for (int y = topY; y < topY + TERRAIN_DEPTH * BLOCK_SIZE; y += BLOCK_SIZE) {
                 Vector2 position = new Vector2(x, y);
-                RectangleRenderable renderable  =
-                        new RectangleRenderable(ColorSupplier.approximateColor(BASE_GROUND_COLOR));
+                RectangleRenderable renderable  = RenderablePalette.rectangle(
+                        groundColorAt(x, y));
                 Block block = new Block(position,renderable);
                 block.setTag(GROUND_TAG);
                 blocks.add(block);
             }
         }
+        event.finish(BLOCKS_GENERATOR, minX, maxX, blocks.size());
         return blocks;
     }
+
+    /**
+     * Creates the ground of the same range as {@link #createInRange(int, int)}, but as one
+     * collider per run of adjacent columns of the same height instead of a block per cell.
+     * Every strip is rendered with a texture that has a texel per block, so it looks the same
+     * as the blocks it replaces while being a single object for rendering and collisions.
+     * @param minX the minimum x value
+     * @param maxX the maximum x value
+     * @return a list of ground strips
+     */
+    public List<GroundStrip> createMergedInRange(int minX, int maxX) {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        List<GroundStrip> strips = new ArrayList<>();
+        int startX = alignedStartX(minX);
+        int endX = alignedEndX(maxX);
+
+        int runStartX = startX;
+        int runTopY = columnTopY(startX);
+        for (int x = startX + BLOCK_SIZE; x <= endX + BLOCK_SIZE; x += BLOCK_SIZE) {
+            int topY = x <= endX ? columnTopY(x) : Integer.MIN_VALUE;
+            if (topY != runTopY) {
+                strips.add(createStrip(runStartX, runTopY, (x - runStartX) / BLOCK_SIZE));
+                runStartX = x;
+                runTopY = topY;
+            }
+        }
+        event.finish(STRIPS_GENERATOR, minX, maxX, strips.size());
+        return strips;
+    }
+
+    /**
+     * Creates a ground strip covering the given columns
+     * @param x the x value of the leftmost column
+     * @param topY the y value of the top of the columns
+     * @param columns the number of columns
+     * @return the ground strip
+     */
+    private GroundStrip createStrip(int x, int topY, int columns) {
+        BufferedImage texture = new BufferedImage(columns, TERRAIN_DEPTH,
+                BufferedImage.TYPE_INT_RGB);
+        for (int column = 0; column < columns; column++) {
+            for (int row = 0; row < TERRAIN_DEPTH; row++) {
+                texture.setRGB(column, row,
+                        groundColorAt(x + column * BLOCK_SIZE, topY + row * BLOCK_SIZE).getRGB());
+            }
+        }
+        GroundStrip strip = new GroundStrip(new Vector2(x, topY),
+                new Vector2(columns * BLOCK_SIZE, TERRAIN_DEPTH * BLOCK_SIZE),
+                new ImageRenderable(texture));
+        strip.setTag(GROUND_TAG);
+        return strip;
+    }
+
+    /**
+     * Returns the color of the block at the given position. A pure function of the seed and the
+     * position, so ground can be colored from any thread and recreated identically.
+     * @param x the x value of the block
+     * @param y the y value of the block
+     * @return the color of the block
+     */
+    private Color groundColorAt(int x, int y) {
+        return ColorSupplier.approximateColor(BASE_GROUND_COLOR, GROUND_COLOR_DELTA, seed,
+                Math.floorDiv(x, BLOCK_SIZE), Math.floorDiv(y, BLOCK_SIZE));
+    }
+
+    /**
+     * Returns the y value of the top block of the column at the given x value
+     * @param x the x value of the column
+     * @return the y value of the top of the column, aligned with BLOCK_SIZE
+     */
+    private int columnTopY(int x) {
+        return Math.floorDiv((int)groundHeightAt(x), BLOCK_SIZE) * BLOCK_SIZE;
+    }
+
+    /**
+     * Aligns minX with BLOCK_SIZE, rounding down to ensure coverage
+     * @param minX the minimum x value
+     * @return the x value of the first column covering minX
+     */
+    private int alignedStartX(int minX) {
+        int startX = Math.floorDiv(minX, BLOCK_SIZE) * BLOCK_SIZE;
+        if (startX > minX) {
+            startX -= BLOCK_SIZE;
+        }
+        return startX;
+    }
+
+    /**
+     * Aligns maxX with BLOCK_SIZE, rounding up to ensure coverage
+     * @param maxX the maximum x value
+     * @return the x value of the last column covering maxX
+     */
+    private int alignedEndX(int maxX) {
+        int endX = Math.floorDiv(maxX, BLOCK_SIZE) * BLOCK_SIZE;
+        if (endX < maxX) {
+            endX += BLOCK_SIZE;
+        }
+        return endX;
+    }
 }
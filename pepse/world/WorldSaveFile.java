@@ -0,0 +1,267 @@
+package pepse.world;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * A saved world: the energy and position of the avatar, and a {@link ChunkRecord} for every chunk
+ * the player changed. The file starts with a header, followed by an index of the saved chunks
+ * sorted by chunk index, followed by the records. An opened file is memory-mapped, and a record
+ * is only decoded when its chunk is looked up, so resuming a long session reads just the chunks
+ * near the avatar. Since the opened file stays mapped, and a mapped file cannot be replaced on
+ * every platform, a save is written next to it as a pending file, which replaces it the next
+ * time the world is opened, before it is mapped.
+ */
+public final class WorldSaveFile {
+    private static final int MAGIC = 0x50455053;
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES + Double.BYTES + 2 * Float.BYTES +
+            Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = 3 * Integer.BYTES;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    private static final String PENDING_SUFFIX = ".new";
+    private final MappedByteBuffer buffer;
+    private final double avatarEnergy;
+    private final float avatarX;
+    private final float avatarY;
+    private final int chunkCount;
+
+    private WorldSaveFile(MappedByteBuffer buffer) throws IOException {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a saved world");
+        }
+        if (buffer.getShort(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported saved world version " +
+                    buffer.getShort(Integer.BYTES));
+        }
+        this.buffer = buffer;
+        int position = 2 * Integer.BYTES;
+        this.avatarEnergy = buffer.getDouble(position);
+        position += Double.BYTES;
+        this.avatarX = buffer.getFloat(position);
+        position += Float.BYTES;
+        this.avatarY = buffer.getFloat(position);
+        position += Float.BYTES;
+        this.chunkCount = buffer.getInt(position);
+        long indexEnd = HEADER_BYTES + (long) chunkCount * INDEX_ENTRY_BYTES;
+        if (chunkCount < 0 || indexEnd > buffer.limit()) {
+            throw new IOException("Truncated saved world");
+        }
+        for (int i = 0; i < chunkCount; i++) {
+            int entry = HEADER_BYTES + i * INDEX_ENTRY_BYTES;
+            if (i > 0 && buffer.getInt(entry) <= buffer.getInt(entry - INDEX_ENTRY_BYTES)) {
+                throw new IOException("Saved world index is not sorted at entry " + i);
+            }
+            int offset = buffer.getInt(entry + Integer.BYTES);
+            int length = buffer.getInt(entry + 2 * Integer.BYTES);
+            if (offset < indexEnd || length < 0 || (long) offset + length > buffer.limit()) {
+                throw new IOException("Chunk record " + i + " of " + length + " bytes at " +
+                        offset + " lies outside the saved world");
+            }
+        }
+    }
+
+    /**
+     * Checks whether a world was saved to a file, either opened before or still pending
+     * @param path the path of the file
+     * @return whether there is a saved world to open
+     */
+    public static boolean exists(Path path) {
+        return Files.exists(pendingOf(path)) || Files.exists(path);
+    }
+
+    /**
+     * Opens a saved world, mapping the file into memory. A world saved since the file was last
+     * opened replaces the file first. Only the index is checked here: that it is sorted, and
+     * that every record it points to lies within the file. The records themselves are checked
+     * when they are decoded, so opening the file does not read them.
+     * @param path the path of the file
+     * @return the saved world
+     * @throws IOException if the file cannot be read, is not a saved world or its index is
+     *                     damaged
+     */
+    public static WorldSaveFile open(Path path) throws IOException {
+        Path pending = pendingOf(path);
+        if (Files.exists(pending)) {
+            replace(pending, path);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new WorldSaveFile(
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes a world to the pending file of a file, replacing the pending file only once it is
+     * complete, so a failed save never destroys the previous one. The file itself, which may be
+     * mapped, is left alone until it is next opened.
+     * @param path the path of the file
+     * @param avatarEnergy the energy of the avatar
+     * @param avatarX the x coordinate of the center of the avatar
+     * @param avatarY the y coordinate of the center of the avatar
+     * @param records the records of the changed chunks, by chunk index. Empty records are
+     *                skipped.
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, double avatarEnergy, float avatarX, float avatarY,
+                             SortedMap<Integer, ChunkRecord> records) throws IOException {
+        int chunks = 0;
+        long recordBytes = 0;
+        for (ChunkRecord record : records.values()) {
+            if (!record.isEmpty()) {
+                chunks++;
+                recordBytes += record.byteSize();
+            }
+        }
+        long size = HEADER_BYTES + (long) chunks * INDEX_ENTRY_BYTES + recordBytes;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("World too large to save: " + size + " bytes");
+        }
+        ByteBuffer out = ByteBuffer.allocateDirect((int) size);
+        out.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        out.putDouble(avatarEnergy).putFloat(avatarX).putFloat(avatarY).putInt(chunks);
+        int offset = HEADER_BYTES + chunks * INDEX_ENTRY_BYTES;
+        for (Map.Entry<Integer, ChunkRecord> entry : records.entrySet()) {
+            ChunkRecord record = entry.getValue();
+            if (!record.isEmpty()) {
+                out.putInt(entry.getKey()).putInt(offset).putInt(record.byteSize());
+                offset += record.byteSize();
+            }
+        }
+        for (ChunkRecord record : records.values()) {
+            if (!record.isEmpty()) {
+                record.write(out);
+            }
+        }
+        out.flip();
+
+        Path temporary = path.resolveSibling(path.getFileName() + TEMPORARY_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+            channel.force(false);
+        }
+        replace(temporary, pendingOf(path));
+    }
+
+    /**
+     * Gets the path of the pending file of a file, which a save is written to
+     * @param path the path of the file
+     * @return the path of the pending file
+     */
+    private static Path pendingOf(Path path) {
+        return path.resolveSibling(path.getFileName() + PENDING_SUFFIX);
+    }
+
+    /**
+     * Moves a file over another, atomically where the file system allows it
+     * @param source the file to move
+     * @param target the file to replace
+     * @throws IOException if the file cannot be moved
+     */
+    private static void replace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Gets the saved energy of the avatar
+     * @return the energy of the avatar
+     */
+    public double getAvatarEnergy() {
+        return avatarEnergy;
+    }
+
+    /**
+     * Gets the saved x coordinate of the center of the avatar
+     * @return the x coordinate of the avatar
+     */
+    public float getAvatarX() {
+        return avatarX;
+    }
+
+    /**
+     * Gets the saved y coordinate of the center of the avatar
+     * @return the y coordinate of the avatar
+     */
+    public float getAvatarY() {
+        return avatarY;
+    }
+
+    /**
+     * Gets the number of saved chunks
+     * @return the number of saved chunks
+     */
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    /**
+     * Gets the index of the saved chunk at a position of the file's index
+     * @param i the position, between 0 and the number of saved chunks
+     * @return the index of the chunk
+     */
+    public int chunkIndexAt(int i) {
+        return buffer.getInt(HEADER_BYTES + i * INDEX_ENTRY_BYTES);
+    }
+
+    /**
+     * Decodes the record of the saved chunk at a position of the file's index
+     * @param i the position, between 0 and the number of saved chunks
+     * @return the record of the chunk
+     * @throws IOException if the record's counts do not fit in its bytes
+     */
+    public ChunkRecord recordAt(int i) throws IOException {
+        int entry = HEADER_BYTES + i * INDEX_ENTRY_BYTES;
+        return ChunkRecord.read(buffer, buffer.getInt(entry + Integer.BYTES),
+                buffer.getInt(entry + 2 * Integer.BYTES));
+    }
+
+    /**
+     * Looks a chunk up in the file's index, by binary search
+     * @param chunkIndex the index of the chunk
+     * @return the position of the chunk in the file's index, or -1 if the chunk was not saved
+     */
+    public int positionOf(int chunkIndex) {
+        int low = 0;
+        int high = chunkCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int index = chunkIndexAt(middle);
+            if (index < chunkIndex) {
+                low = middle + 1;
+            } else if (index > chunkIndex) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decodes the record of a saved chunk
+     * @param chunkIndex the index of the chunk
+     * @return the record of the chunk, or null if the chunk was not saved
+     * @throws IOException if the record does not fit in its bytes
+     */
+    public ChunkRecord find(int chunkIndex) throws IOException {
+        int position = positionOf(chunkIndex);
+        return position < 0 ? null : recordAt(position);
+    }
+}
@@ -0,0 +1,229 @@
+package pepse.world;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+import pepse.util.LongLongHashMap;
+import pepse.world.trees.Fruit;
+import pepse.world.trees.Trunk;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * The changes the player made to the world, on top of the world as it is generated from the
+ * seed. Only the objects that differ from how they are generated are kept: trunks that changed
+ * color, by x coordinate, and fruits that are green or eaten, by position, each in a map from
+ * packed long keys to packed long values. Trunks and fruits report their own changes as they
+ * happen, and the changes are applied to every chunk when it is created, so how much the state
+ * holds depends on how much the player did, and not on how far the avatar walked. The changes
+ * of a {@link WorldSaveFile} are read into the state chunk by chunk, the first time the chunk
+ * is created.
+ */
+public class WorldState {
+    private static final long GREEN_FLAG = 1;
+    private static final int IMPORT_RADIUS = 1;
+    private final LongLongHashMap trunkColorChanges = new LongLongHashMap();
+    private final LongLongHashMap fruits = new LongLongHashMap();
+    private final LongLongHashMap importedChunks = new LongLongHashMap();
+    private final WorldSaveFile savedWorld;
+    private double time = 0;
+
+    /**
+     * Creates the state of a world
+     * @param savedWorld the saved world the state starts from, or null to start a new world
+     */
+    public WorldState(WorldSaveFile savedWorld) {
+        this.savedWorld = savedWorld;
+    }
+
+    /**
+     * Advances the clock eaten fruits grow back by
+     * @param deltaTime the time elapsed, in seconds, since the last step
+     */
+    public void advance(float deltaTime) {
+        time += deltaTime;
+    }
+
+    /**
+     * Gets the time on the clock eaten fruits grow back by
+     * @return the time advanced since the state was created, in seconds
+     */
+    public double getTime() {
+        return time;
+    }
+
+    /**
+     * Records that a trunk changed color
+     * @param x the x coordinate of the top of the trunk
+     * @param colorChanges the number of times the trunk changed color
+     */
+    public void trunkChanged(int x, int colorChanges) {
+        trunkColorChanges.put(x, colorChanges);
+    }
+
+    /**
+     * Records that a fruit changed color, was eaten or grew back. A fruit that is back to how it
+     * is generated is forgotten.
+     * @param x the x coordinate of the top left corner of the fruit
+     * @param y the y coordinate of the top left corner of the fruit
+     * @param green whether the fruit is green
+     * @param regrowTime the time until the eaten fruit grows back, in seconds, or 0 if the
+     *                   fruit is not eaten
+     */
+    public void fruitChanged(int x, int y, boolean green, float regrowTime) {
+        if (!green && regrowTime <= 0) {
+            fruits.remove(positionKey(x, y));
+        } else {
+            float regrowAt = regrowTime > 0 ? (float) (time + regrowTime) : 0;
+            fruits.put(positionKey(x, y), ((long) Float.floatToIntBits(regrowAt) << 32) |
+                    (green ? GREEN_FLAG : 0));
+        }
+    }
+
+    /**
+     * Gets the number of changed objects in the state
+     * @return the number of trunks and fruits that differ from how they are generated
+     */
+    public int getChangeCount() {
+        return trunkColorChanges.size() + fruits.size();
+    }
+
+    /**
+     * Saves the changes, together with the state of the avatar. The changes are grouped by the
+     * chunk their x coordinate falls in, and the changes of saved chunks that were never
+     * created are copied from the saved world as they are. A saved chunk that cannot be read
+     * is left out, rather than failing the whole save.
+     * @param path the path of the file
+     * @param avatarEnergy the energy of the avatar
+     * @param avatarCenter the position of the center of the avatar
+     * @throws IOException if the file cannot be written
+     */
+    public void save(Path path, double avatarEnergy, Vector2 avatarCenter) throws IOException {
+        SortedMap<Integer, ChunkRecord> records = new TreeMap<>();
+        if (savedWorld != null) {
+            for (int i = 0; i < savedWorld.getChunkCount(); i++) {
+                int index = savedWorld.chunkIndexAt(i);
+                if (!importedChunks.containsKey(index)) {
+                    try {
+                        records.put(index, savedWorld.recordAt(i));
+                    } catch (IOException e) {
+                        System.err.println("Dropping saved chunk " + index + ": " +
+                                e.getMessage());
+                    }
+                }
+            }
+        }
+        trunkColorChanges.forEach((x, colorChanges) ->
+                recordOf(records, (int) x).addTrunk((int) x, (int) colorChanges));
+        fruits.forEach((key, value) -> {
+            int x = (int) (key >> 32);
+            boolean green = (value & GREEN_FLAG) != 0;
+            float regrowTime = regrowTimeOf(value);
+            if (green || regrowTime > 0) {
+                recordOf(records, x).addFruit(x, (int) key, green, regrowTime);
+            }
+        });
+        WorldSaveFile.write(path, avatarEnergy, avatarCenter.x(), avatarCenter.y(), records);
+    }
+
+    /**
+     * Applies the changes to a freshly created chunk, and has its trunks and fruits report
+     * their changes to the state from now on. Reads the saved changes around the chunk first,
+     * if they were not read yet; a chunk's objects can stick out of it a little, so the
+     * neighbouring chunks are read as well.
+     * @param chunk the chunk
+     */
+    void apply(Chunk chunk) {
+        for (int index = chunk.getIndex() - IMPORT_RADIUS;
+             index <= chunk.getIndex() + IMPORT_RADIUS; index++) {
+            importSavedChunk(index);
+        }
+        List<GameObject> objects = chunk.getObjects();
+        for (int i = 0; i < objects.size(); i++) {
+            GameObject object = objects.get(i);
+            if (object instanceof Trunk) {
+                Trunk trunk = (Trunk) object;
+                long colorChanges = trunkColorChanges.getOrDefault(trunk.getTopPositionX(), 0);
+                if (colorChanges != 0) {
+                    trunk.setColorChanges((int) colorChanges);
+                }
+                trunk.setWorldState(this);
+            } else if (object instanceof Fruit) {
+                Fruit fruit = (Fruit) object;
+                // The fruit counts its regrow time on the state's clock, so it needs the state
+                // before its time is set
+                fruit.setWorldState(this);
+                long key = positionKey(fruit.getPositionX(), fruit.getPositionY());
+                if (fruits.containsKey(key)) {
+                    long value = fruits.getOrDefault(key, 0);
+                    fruit.setGreen((value & GREEN_FLAG) != 0);
+                    fruit.setRegrowTime(regrowTimeOf(value));
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the saved changes of a chunk into the state. Does nothing if there are none, or
+     * they were already read. A chunk whose changes cannot be read is generated as new.
+     * @param index the index of the chunk
+     */
+    private void importSavedChunk(int index) {
+        if (savedWorld == null || importedChunks.containsKey(index)) {
+            return;
+        }
+        ChunkRecord record;
+        try {
+            record = savedWorld.find(index);
+        } catch (IOException e) {
+            System.err.println("Dropping saved chunk " + index + ": " + e.getMessage());
+            importedChunks.put(index, 0);
+            return;
+        }
+        if (record == null) {
+            return;
+        }
+        importedChunks.put(index, 0);
+        for (int i = 0; i < record.getTrunkCount(); i++) {
+            trunkChanged(record.getTrunkX(i), record.getTrunkColorChanges(i));
+        }
+        for (int i = 0; i < record.getFruitCount(); i++) {
+            fruitChanged(record.getFruitX(i), record.getFruitY(i), record.isFruitGreen(i),
+                    record.getFruitRegrowTime(i));
+        }
+    }
+
+    /**
+     * Computes the time left until an eaten fruit grows back
+     * @param value the packed state of the fruit
+     * @return the time, in seconds, or 0 if the fruit is not eaten or already grew back
+     */
+    private float regrowTimeOf(long value) {
+        float regrowAt = Float.intBitsToFloat((int) (value >>> 32));
+        return regrowAt > time ? (float) (regrowAt - time) : 0;
+    }
+
+    /**
+     * Gets the record of the chunk an x coordinate falls in, adding it if needed
+     * @param records the records, by chunk index
+     * @param x the x coordinate
+     * @return the record
+     */
+    private static ChunkRecord recordOf(SortedMap<Integer, ChunkRecord> records, int x) {
+        return records.computeIfAbsent(Math.floorDiv(x, ChunkManager.CHUNK_WIDTH),
+                index -> new ChunkRecord());
+    }
+
+    /**
+     * Packs a position into a single key
+     * @param x the x coordinate
+     * @param y the y coordinate
+     * @return the key, with x in the high half and y in the low half
+     */
+    private static long positionKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+}
@@ -1,6 +1,7 @@
 package pepse.world.daynight;
 
 import danogl.GameObject;
+import danogl.components.CoordinateSpace;
 import java.awt.Color;
 import danogl.gui.rendering.OvalRenderable;
 
@@ -24,6 +25,7 @@ public class SunHalo {
                 sun.getDimensions().mult(SUN_HALO_SIZE_FACTOR),
                 haloRenderable);
         sunHalo.setTag(SUN_HALO_TAG);
+        sunHalo.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         return sunHalo;
     }
 }
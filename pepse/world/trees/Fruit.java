@@ -3,22 +3,27 @@ package pepse.world.trees;
 import danogl.GameObject;
 import danogl.collisions.Collision;
 import danogl.components.GameObjectPhysics;
-import danogl.components.ScheduledTask;
 import danogl.gui.rendering.OvalRenderable;
 import danogl.util.Vector2;
+import pepse.util.RenderablePalette;
+import pepse.world.JumpListener;
+import pepse.world.WorldState;
 
 import java.awt.*;
 
 /**
  * A class that creates a fruit object that will be rendered on the tree
  */
-public class Fruit extends GameObject {
-    private String FRUIT_TAG = "fruit";
+public class Fruit extends GameObject implements JumpListener {
     private static final int FRUIT_SIZE = 10;
     private static final String AVATAR_TAG = "Avatar";
-    private static final String JUMPED_TAG = "jumped";
     private static final float FRUIT_APPEARANCE_TIME = 30;
     private Color fruitColor = Color.RED;
+    private final int positionX;
+    private final int positionY;
+    private boolean eaten = false;
+    private double regrowAt = 0;
+    private WorldState worldState;
 
     /**
      * Creates a fruit object that will be rendered on the tree
@@ -30,6 +35,34 @@ public class Fruit extends GameObject {
         super(new Vector2(positionX, positionY), new Vector2(FRUIT_SIZE,FRUIT_SIZE), renderable);
         physics().preventIntersectionsFromDirection(Vector2.ZERO);
         physics().setMass(GameObjectPhysics.IMMOVABLE_MASS);
+        this.positionX = positionX;
+        this.positionY = positionY;
+    }
+
+    /**
+     * Gets the x position the fruit was created at
+     * @return the x position of the top left corner of the fruit
+     */
+    public int getPositionX() {
+        return positionX;
+    }
+
+    /**
+     * Gets the y position the fruit was created at
+     * @return the y position of the top left corner of the fruit
+     */
+    public int getPositionY() {
+        return positionY;
+    }
+
+    /**
+     * Sets the world state the fruit reports being eaten and changing color to. An eaten fruit
+     * grows back by the clock of its world state, which keeps running while the fruit's chunk
+     * sleeps; a fruit with no world state has no clock, and stays eaten.
+     * @param worldState the world state, or null to report to none
+     */
+    public void setWorldState(WorldState worldState) {
+        this.worldState = worldState;
     }
 
     /**
@@ -42,32 +75,85 @@ public class Fruit extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        if(other.getTag().equals(AVATAR_TAG)){
-           renderer().setOpaqueness(0);
-            ScheduledTask task = new ScheduledTask(this,
-                    FRUIT_APPEARANCE_TIME, false,
-                    () -> {renderer().setOpaqueness(1);});
+        if(other.getTag().equals(AVATAR_TAG) && !eaten){
+            setRegrowTime(FRUIT_APPEARANCE_TIME);
+            reportChange();
         }
     }
 
-
     /**
-     * This method is called every frame to update the GameObject's state.
-     * @param deltaTime The time elapsed, in seconds, since the last frame. Can
-     *                  be used to determine a new position/velocity by multiplying
-     *                  this delta with the velocity/acceleration respectively
-     *                  and adding to the position/velocity:
-     *                  velocity += deltaTime*acceleration
-     *                  pos += deltaTime*velocity
+     * Shows an eaten fruit again once the clock of its world state reaches the time it grows
+     * back
+     * @param deltaTime the time elapsed, in seconds, since the last frame
      */
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
-        if (this.getTag().equals(JUMPED_TAG)){
-            fruitColor = fruitColor.equals(Color.GREEN) ? Color.RED : Color.GREEN;
-            OvalRenderable renderable = new OvalRenderable(fruitColor);
-            renderer().setRenderable(renderable);
-            this.setTag(FRUIT_TAG);
+        if(eaten && clock() >= regrowAt){
+            setRegrowTime(0);
+            reportChange();
+        }
+    }
+
+    /**
+     * Gets the time until the fruit grows back after it was eaten
+     * @return the time, in seconds, or 0 if the fruit is not eaten
+     */
+    public float getRegrowTime() {
+        return eaten ? (float) Math.max(regrowAt - clock(), 0) : 0;
+    }
+
+    /**
+     * Sets the time until the fruit grows back, hiding it until then
+     * @param regrowTime the time, in seconds, or 0 to show the fruit
+     */
+    public void setRegrowTime(float regrowTime) {
+        eaten = regrowTime > 0;
+        regrowAt = eaten ? clock() + regrowTime : 0;
+        renderer().setOpaqueness(eaten ? 0 : 1);
+    }
+
+    /**
+     * Checks whether the fruit is green
+     * @return whether the fruit is green, rather than red
+     */
+    public boolean isGreen() {
+        return fruitColor.equals(Color.GREEN);
+    }
+
+    /**
+     * Sets whether the fruit is green
+     * @param green whether the fruit is green, rather than red
+     */
+    public void setGreen(boolean green) {
+        fruitColor = green ? Color.GREEN : Color.RED;
+        renderer().setRenderable(RenderablePalette.oval(fruitColor));
+    }
+
+
+    /**
+     * Toggles the fruit between red and green when the avatar jumps
+     */
+    @Override
+    public void onJump() {
+        setGreen(!isGreen());
+        reportChange();
+    }
+
+    /**
+     * Reports the current color and regrow time of the fruit to its world state, if it has one
+     */
+    private void reportChange() {
+        if (worldState != null) {
+            worldState.fruitChanged(positionX, positionY, isGreen(), getRegrowTime());
         }
     }
+
+    /**
+     * Gets the time on the clock eaten fruits grow back by
+     * @return the time of the world state, in seconds, or 0 if the fruit has none
+     */
+    private double clock() {
+        return worldState == null ? 0 : worldState.getTime();
+    }
 }
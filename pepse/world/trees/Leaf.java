@@ -2,31 +2,28 @@ package pepse.world.trees;
 
 import danogl.GameObject;
 import danogl.components.GameObjectPhysics;
-import danogl.components.ScheduledTask;
-import danogl.components.Transition;
 import danogl.gui.rendering.RectangleRenderable;
 import danogl.util.Vector2;
+import pepse.world.JumpListener;
 
 
 
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A class that creates a leaf object
 
  */
-public class Leaf extends GameObject {
-    private static final int LEAF_SIZE = 15;
+public class Leaf extends GameObject implements JumpListener {
+    /**
+     * The animation slot of a leaf that no {@link LeafAnimator} is swaying
+     */
+    static final int NO_ANIMATION_SLOT = -1;
     private static final float MAX_DELAY = 0.8f;
     private static final float MIN_DELAY = 0.1f;
-    private static final float INITIAl_ANGLE = 0;
-    private static final float FINAL_ANGLE = 90;
-    private static final float TRANSITION_TIME = 1;
-    private static final float LEAF_INITIAL_WIDTH = -1;
-    private static final float LEAF_FINAL_WIDTH = 1;
-    private static final String LEAF_TAG = "leaf";
-    private static final String JUMPED_TAG = "jumped";
-    private Random random = new Random();
+    private float windDelay = 0;
+    private LeafAnimator animator = null;
+    private int animationSlot = NO_ANIMATION_SLOT;
 
     /**
      * Constructor for the Leaf class
@@ -42,47 +39,49 @@ public class Leaf extends GameObject {
     }
 
     /**
-     * This method is called when a collision occurs with this GameObject.
-     * @param leaf The GameObject with which a collision occurred.
+     * Gets the time, after the leaf is handed to a {@link LeafAnimator}, until it starts swaying
+     * @return the delay, in seconds
      */
-    private static void changeLeafWidth(Leaf leaf) {
-        Transition<Float> widthLeafTtansition = new Transition<>(leaf,
-                width -> leaf.setDimensions(new Vector2(LEAF_SIZE, LEAF_SIZE)),
-                LEAF_INITIAL_WIDTH, LEAF_FINAL_WIDTH,
-                Transition.CUBIC_INTERPOLATOR_FLOAT, TRANSITION_TIME,
-                Transition.TransitionType.TRANSITION_ONCE, null);
+    public float getWindDelay() {
+        return windDelay;
     }
 
     /**
-     * Changes the angle of the leaf
-     * @param leaf the leaf to change
+     * Sets the time, after the leaf is handed to a {@link LeafAnimator}, until it starts swaying
+     * @param windDelay the delay, in seconds
      */
-    private static void changeLeafAngle(Leaf leaf) {
-        Transition<Float> angleLeafTtansition = new Transition<>(leaf,
-                angle -> leaf.renderer().setRenderableAngle(angle), INITIAl_ANGLE, FINAL_ANGLE,
-                Transition.CUBIC_INTERPOLATOR_FLOAT, TRANSITION_TIME,
-                Transition.TransitionType.TRANSITION_ONCE, null);
+    public void setWindDelay(float windDelay) {
+        this.windDelay = windDelay;
     }
 
+    /**
+     * Gets the position of the leaf in the arrays of the animator that sways it
+     * @return the slot, or NO_ANIMATION_SLOT if no animator sways the leaf
+     */
+    int getAnimationSlot() {
+        return animationSlot;
+    }
+
+    /**
+     * Sets the animator that sways the leaf, and the position of the leaf in its arrays
+     * @param animator the animator, or null if no animator sways the leaf
+     * @param animationSlot the slot
+     */
+    void setAnimator(LeafAnimator animator, int animationSlot) {
+        this.animator = animator;
+        this.animationSlot = animationSlot;
+    }
 
     /**
-     * This method is called every frame to update the GameObject's state.
-     * @param deltaTime The time elapsed, in seconds, since the last frame. Can
-     *                  be used to determine a new position/velocity by multiplying
-     *                  this delta with the velocity/acceleration respectively
-     *                  and adding to the position/velocity:
-     *                  velocity += deltaTime*acceleration
-     *                  pos += deltaTime*velocity
+     * Spins the leaf, after a short random delay, when the avatar jumps. The spin is run by the
+     * animator that sways the leaf, which merges it with a spin that is already on its way.
      */
     @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        if (this.getTag().equals(JUMPED_TAG)) {
-            float delay = MIN_DELAY + random.nextFloat() * (MAX_DELAY - MIN_DELAY);
-            new ScheduledTask(this, delay, false,
-                    () -> {changeLeafAngle(this);
-                changeLeafWidth(this);});
-            this.setTag(LEAF_TAG);
+    public void onJump() {
+        if (animator != null) {
+            float delay = MIN_DELAY + ThreadLocalRandom.current().nextFloat() *
+                    (MAX_DELAY - MIN_DELAY);
+            animator.spin(this, delay);
         }
     }
 }
@@ -0,0 +1,168 @@
+package pepse.world.trees;
+
+import java.util.Arrays;
+
+/**
+ * A class that sways all the leaves in the wind, and spins them when the avatar jumps, from a
+ * single loop per frame. The state of every leaf is kept in primitive arrays indexed by the
+ * leaf's slot, instead of in components attached to each leaf, and leaves outside the visible
+ * range are skipped. Since a leaf's angle is a function of the time since it started swaying or
+ * spinning, a skipped leaf is in the right pose as soon as it becomes visible again.
+ */
+public class LeafAnimator {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final float INITIAL_LEAF_ANGLE = 0f;
+    private static final float FINAL_LEAF_ANGLE = 10f;
+    private static final float TRANSITION_TIME_ANGLE = 2;
+    private static final float CYCLE_TIME = 2 * TRANSITION_TIME_ANGLE;
+    private static final float FINAL_SPIN_ANGLE = 90f;
+    private static final float SPIN_TIME = 1;
+    private static final double NO_SPIN = Double.NaN;
+    private Leaf[] leaves = new Leaf[INITIAL_CAPACITY];
+    private float[] leafXs = new float[INITIAL_CAPACITY];
+    private double[] startTimes = new double[INITIAL_CAPACITY];
+    private double[] spinStartTimes = new double[INITIAL_CAPACITY];
+    private int size = 0;
+    private double time = 0;
+
+    /**
+     * Starts swaying a leaf
+     * @param leaf the leaf
+     * @param delay the time until the leaf starts swaying, in seconds
+     */
+    public void add(Leaf leaf, float delay) {
+        if (size == leaves.length) {
+            grow();
+        }
+        leaves[size] = leaf;
+        leafXs[size] = leaf.getCenter().x();
+        startTimes[size] = time + delay;
+        spinStartTimes[size] = NO_SPIN;
+        leaf.setAnimator(this, size);
+        size++;
+    }
+
+    /**
+     * Stops swaying a leaf. Does nothing if the leaf is not swaying.
+     * @param leaf the leaf
+     */
+    public void remove(Leaf leaf) {
+        int slot = leaf.getAnimationSlot();
+        if (slot < 0 || slot >= size || leaves[slot] != leaf) {
+            return;
+        }
+        int last = --size;
+        leaves[slot] = leaves[last];
+        leafXs[slot] = leafXs[last];
+        startTimes[slot] = startTimes[last];
+        spinStartTimes[slot] = spinStartTimes[last];
+        leaves[slot].setAnimator(this, slot);
+        leaves[last] = null;
+        leaf.setAnimator(null, Leaf.NO_ANIMATION_SLOT);
+    }
+
+    /**
+     * Spins a leaf once, after a delay. A jump that comes while the leaf is still waiting to
+     * spin or spinning is merged into the current spin, so overlapping jumps never pile up.
+     * Does nothing if the leaf is not swaying.
+     * @param leaf the leaf
+     * @param delay the time until the leaf starts spinning, in seconds
+     */
+    public void spin(Leaf leaf, float delay) {
+        int slot = leaf.getAnimationSlot();
+        if (slot < 0 || slot >= size || leaves[slot] != leaf) {
+            return;
+        }
+        if (Double.isNaN(spinStartTimes[slot])) {
+            spinStartTimes[slot] = time + delay;
+        }
+    }
+
+    /**
+     * Advances the wind and the spins by a frame, and updates the angle of every visible leaf.
+     * A spinning leaf follows its spin instead of the wind until the spin is over.
+     * @param deltaTime the time elapsed, in seconds, since the last frame
+     * @param minVisibleX the x coordinate of the left edge of the visible range
+     * @param maxVisibleX the x coordinate of the right edge of the visible range
+     */
+    public void update(float deltaTime, float minVisibleX, float maxVisibleX) {
+        time += deltaTime;
+        for (int i = 0; i < size; i++) {
+            double spinElapsed = time - spinStartTimes[i];
+            if (spinElapsed >= SPIN_TIME) {
+                // Ended spins are cleared even out of view, so the leaf can spin again
+                spinStartTimes[i] = NO_SPIN;
+            }
+            float x = leafXs[i];
+            if (x < minVisibleX || x > maxVisibleX) {
+                continue;
+            }
+            double elapsed = time - startTimes[i];
+            if (spinElapsed >= 0 && spinElapsed < SPIN_TIME) {
+                float progress = (float) spinElapsed / SPIN_TIME;
+                leaves[i].renderer().setRenderableAngle(
+                        INITIAL_LEAF_ANGLE + (FINAL_SPIN_ANGLE - INITIAL_LEAF_ANGLE) *
+                                ease(progress));
+            } else if (elapsed >= 0) {
+                leaves[i].renderer().setRenderableAngle(
+                        angleAt((float) (elapsed % CYCLE_TIME)));
+            }
+        }
+    }
+
+    /**
+     * Gets the number of swaying leaves
+     * @return the number of swaying leaves
+     */
+    public int getLeafCount() {
+        return size;
+    }
+
+    /**
+     * Gets the number of swaying leaves that are waiting to spin or spinning. Every leaf has a
+     * single spin slot, so this is never more than the number of swaying leaves.
+     * @return the number of leaves with a spin
+     */
+    int getSpinCount() {
+        int spins = 0;
+        for (int i = 0; i < size; i++) {
+            if (!Double.isNaN(spinStartTimes[i])) {
+                spins++;
+            }
+        }
+        return spins;
+    }
+
+    /**
+     * Computes the angle of a leaf, which goes back and forth between the initial and final
+     * angles with a cubic ease
+     * @param cycleTime the time since the start of the current back and forth cycle
+     * @return the angle
+     */
+    private static float angleAt(float cycleTime) {
+        float progress = cycleTime < TRANSITION_TIME_ANGLE ?
+                cycleTime / TRANSITION_TIME_ANGLE :
+                (CYCLE_TIME - cycleTime) / TRANSITION_TIME_ANGLE;
+        return INITIAL_LEAF_ANGLE + (FINAL_LEAF_ANGLE - INITIAL_LEAF_ANGLE) * ease(progress);
+    }
+
+    /**
+     * Eases a progress between 0 and 1 in and out with a cubic curve
+     * @param progress the progress
+     * @return the eased progress
+     */
+    private static float ease(float progress) {
+        return progress * progress * (3 - 2 * progress);
+    }
+
+    /**
+     * Doubles the capacity of the arrays
+     */
+    private void grow() {
+        int capacity = leaves.length * 2;
+        leaves = Arrays.copyOf(leaves, capacity);
+        leafXs = Arrays.copyOf(leafXs, capacity);
+        startTimes = Arrays.copyOf(startTimes, capacity);
+        spinStartTimes = Arrays.copyOf(spinStartTimes, capacity);
+    }
+}
@@ -4,26 +4,30 @@ import danogl.GameObject;
 import danogl.components.GameObjectPhysics;
 import danogl.gui.rendering.RectangleRenderable;
 import danogl.util.Vector2;
-
-import java.awt.*;
+import pepse.util.HashRandom;
+import pepse.util.RenderablePalette;
+import pepse.world.JumpListener;
+import pepse.world.WorldState;
 
 /**
  * A class that creates a trunk object that will be rendered as a rectangle
  */
-public class Trunk extends GameObject {
+public class Trunk extends GameObject implements JumpListener {
 
-    private static final Color TRUNK_COLOR = new Color(100, 50, 20);
     private static final int BASE_RED = 100;
     private static final int BASE_GREEN = 50;
     private static final int BASE_BLUE = 20;
     private static final int RANGE = 30;
     private static final int MAX_COLOR = 255;
     private static final int MIN_COLOR = 0;
-    private static final String JUMPED_TAG = "jumped";
-    private static final String TRUNK_TAG = "trunk";
+    private static final long SALT_RED = 11;
+    private static final long SALT_GREEN = 12;
+    private static final long SALT_BLUE = 13;
+    private final int seed;
+    private int colorChanges = 0;
+    private WorldState worldState;
     private int topPositionX;
     private int topPositionY;
-    private Color trunkColor = new Color(100, 50, 20);
 
 
     /**
@@ -31,9 +35,11 @@ public class Trunk extends GameObject {
      * @param position the position of the trunk
      * @param dimension the dimension of the trunk
      * @param renderable the renderable object
+     * @param seed the seed the trunk's colors are generated from
      */
-    public Trunk(Vector2 position, Vector2 dimension,RectangleRenderable renderable) {
+    public Trunk(Vector2 position, Vector2 dimension,RectangleRenderable renderable, int seed) {
         super(position, dimension, renderable);
+        this.seed = seed;
         physics().preventIntersectionsFromDirection(Vector2.ZERO);
         physics().setMass(GameObjectPhysics.IMMOVABLE_MASS);
         topPositionX = (int)position.x();
@@ -57,36 +63,63 @@ public class Trunk extends GameObject {
     }
 
     /**
-     * Generates a random brown color
-     * @return a random brown color
+     * Gets the number of times the trunk changed color
+     * @return the number of color changes
+     */
+    public int getColorChanges() {
+        return colorChanges;
+    }
+
+    /**
+     * Sets the world state the trunk reports its color changes to
+     * @param worldState the world state, or null to report to none
+     */
+    public void setWorldState(WorldState worldState) {
+        this.worldState = worldState;
+    }
+
+    /**
+     * Puts the trunk in the color it has after changing color a number of times, as if the
+     * avatar jumped near it that many times
+     * @param colorChanges the number of color changes
      */
-    private Color randomBrownColor() {
-        int baseRed = BASE_RED, baseGreen = BASE_GREEN, baseBlue = BASE_BLUE;
-        int range = RANGE;
-        int red = Math.min(MAX_COLOR, baseRed + (int) (Math.random() * range));
-        int green = Math.min(MAX_COLOR, baseGreen + (int) (Math.random() * range) - 15);
-        int blue = Math.max(MIN_COLOR, baseBlue + (int) (Math.random() * range) - 30);
-        return new Color(red, green, blue);
+    public void setColorChanges(int colorChanges) {
+        this.colorChanges = colorChanges;
+        renderer().setRenderable(renderableAfter(colorChanges));
+    }
+
+    /**
+     * Gets the renderable of the trunk after a number of color changes: the base color after
+     * an even number, and after an odd number a random brown color, determined by the seed, the
+     * trunk's position and the number of changes before the last one. The channels go straight
+     * to the palette, so no color is created.
+     * @param colorChanges the number of color changes
+     * @return the shared renderable of the color
+     */
+    private RectangleRenderable renderableAfter(int colorChanges) {
+        if (colorChanges % 2 == 0) {
+            return RenderablePalette.rectangle(BASE_RED, BASE_GREEN, BASE_BLUE);
+        }
+        int previousChanges = colorChanges - 1;
+        int red = Math.min(MAX_COLOR, BASE_RED +
+                HashRandom.nextInt(seed, SALT_RED, topPositionX, previousChanges, RANGE));
+        int green = Math.min(MAX_COLOR, BASE_GREEN +
+                HashRandom.nextInt(seed, SALT_GREEN, topPositionX, previousChanges, RANGE) - 15);
+        int blue = Math.max(MIN_COLOR, BASE_BLUE +
+                HashRandom.nextInt(seed, SALT_BLUE, topPositionX, previousChanges, RANGE) - 30);
+        return RenderablePalette.rectangle(red, green, blue);
     }
 
 
     /**
-     * This method is called every frame to update the GameObject's state.
-     * @param deltaTime The time elapsed, in seconds, since the last frame. Can
-     *                  be used to determine a new position/velocity by multiplying
-     *                  this delta with the velocity/acceleration respectively
-     *                  and adding to the position/velocity:
-     *                  velocity += deltaTime*acceleration
-     *                  pos += deltaTime*velocity
+     * Toggles the trunk between its base color and a random brown color when the avatar jumps
      */
     @Override
-    public void update(float deltaTime) {
-        super.update(deltaTime);
-        if (this.getTag().equals(JUMPED_TAG)) {
-            trunkColor = trunkColor.equals(TRUNK_COLOR) ? randomBrownColor() : TRUNK_COLOR;
-            RectangleRenderable renderable = new RectangleRenderable(trunkColor);
-            renderer().setRenderable(renderable);
-            this.setTag(TRUNK_TAG);
+    public void onJump() {
+        colorChanges++;
+        renderer().setRenderable(renderableAfter(colorChanges));
+        if (worldState != null) {
+            worldState.trunkChanged(topPositionX, colorChanges);
         }
     }
 }
@@ -0,0 +1,112 @@
+package pepse.world;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests saving worlds and opening them again.
+ */
+class WorldSaveFileTest {
+    private static final double ENERGY = 42;
+    private static final int TRUNK_X = 120;
+    private static final int COLOR_CHANGES = 3;
+    private static final int INDEX_START = 2 * Integer.BYTES + Double.BYTES + 2 * Float.BYTES +
+            Integer.BYTES;
+    private static final int INDEX_ENTRY_BYTES = 3 * Integer.BYTES;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savedWorldIsPendingUntilOpened() throws IOException {
+        Path path = directory.resolve("world.sav");
+        assertFalse(WorldSaveFile.exists(path));
+
+        WorldSaveFile.write(path, ENERGY, 1, 2, records(COLOR_CHANGES));
+        assertTrue(WorldSaveFile.exists(path));
+        assertFalse(Files.exists(path));
+
+        WorldSaveFile saved = WorldSaveFile.open(path);
+        assertTrue(Files.exists(path));
+        assertEquals(ENERGY, saved.getAvatarEnergy());
+        assertEquals(1, saved.getChunkCount());
+        ChunkRecord record = saved.find(0);
+        assertNotNull(record);
+        assertEquals(COLOR_CHANGES, record.getTrunkColorChanges(0));
+        assertNull(saved.find(1));
+    }
+
+    @Test
+    void saveLeavesTheOpenedWorldAlone() throws IOException {
+        Path path = directory.resolve("world.sav");
+        WorldSaveFile.write(path, ENERGY, 0, 0, records(COLOR_CHANGES));
+        WorldSaveFile opened = WorldSaveFile.open(path);
+        byte[] openedBytes = Files.readAllBytes(path);
+
+        WorldSaveFile.write(path, ENERGY, 0, 0, records(COLOR_CHANGES + 1));
+        assertArrayEquals(openedBytes, Files.readAllBytes(path));
+        assertEquals(COLOR_CHANGES, opened.find(0).getTrunkColorChanges(0));
+        assertTrue(WorldSaveFile.exists(path));
+    }
+
+    @Test
+    void recordOutsideTheFileIsRejected() throws IOException {
+        Path corrupt = corruptCopy(INDEX_START + 2 * Integer.BYTES, Integer.MAX_VALUE);
+
+        assertThrows(IOException.class, () -> WorldSaveFile.open(corrupt));
+    }
+
+    @Test
+    void recordWithMoreObjectsThanBytesIsRejectedWhenDecoded() throws IOException {
+        // The only record follows an index of a single entry, and starts with its two counts
+        Path corrupt = corruptCopy(INDEX_START + INDEX_ENTRY_BYTES, Integer.MAX_VALUE);
+
+        WorldSaveFile saved = WorldSaveFile.open(corrupt);
+        assertThrows(IOException.class, () -> saved.find(0));
+    }
+
+    @Test
+    void recordReadChecksItsCounts() {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        buffer.putShort(0, (short) 1);
+
+        assertThrows(IOException.class, () -> ChunkRecord.read(buffer, 0, Integer.BYTES));
+    }
+
+    /**
+     * Saves a world with a single changed chunk, and copies the file with an int overwritten.
+     */
+    private Path corruptCopy(int position, int value) throws IOException {
+        Path path = directory.resolve("world.sav");
+        WorldSaveFile.write(path, ENERGY, 0, 0, records(COLOR_CHANGES));
+        WorldSaveFile.open(path);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        bytes.putInt(position, value);
+        Path corrupt = directory.resolve("corrupt.sav");
+        Files.write(corrupt, bytes.array());
+        return corrupt;
+    }
+
+    private static SortedMap<Integer, ChunkRecord> records(int colorChanges) {
+        ChunkRecord record = new ChunkRecord();
+        record.addTrunk(TRUNK_X, colorChanges);
+        SortedMap<Integer, ChunkRecord> records = new TreeMap<>();
+        records.put(0, record);
+        return records;
+    }
+}
@@ -0,0 +1,46 @@
+package pepse.world.trees;
+
+import danogl.GameObject;
+import danogl.gui.rendering.OvalRenderable;
+import danogl.util.Vector2;
+import org.junit.jupiter.api.Test;
+import pepse.world.WorldState;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that eaten fruits grow back by the clock of their world state, whether or not they are
+ * updated in the meantime.
+ */
+class FruitTest {
+    private static final float DELTA_TIME = 1f / 60;
+    private static final float REGROW_SECONDS = 30;
+    private static final float ASLEEP_SECONDS = 20;
+    private static final float TOLERANCE = 1e-3f;
+
+    @Test
+    void eatenFruitGrowsBackWhileItsChunkSleeps() {
+        WorldState worldState = new WorldState(null);
+        Fruit fruit = new Fruit(new OvalRenderable(Color.RED), 0, 0);
+        fruit.setWorldState(worldState);
+        GameObject avatar = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+        avatar.setTag("Avatar");
+
+        fruit.onCollisionEnter(avatar, null);
+        assertEquals(REGROW_SECONDS, fruit.getRegrowTime(), TOLERANCE);
+        assertEquals(0, fruit.renderer().getOpaqueness());
+        assertEquals(1, worldState.getChangeCount());
+
+        // The fruit's chunk sleeps, so the fruit is not updated while the world goes on
+        worldState.advance(ASLEEP_SECONDS);
+        assertEquals(REGROW_SECONDS - ASLEEP_SECONDS, fruit.getRegrowTime(), TOLERANCE);
+
+        worldState.advance(REGROW_SECONDS - ASLEEP_SECONDS);
+        fruit.update(DELTA_TIME);
+        assertEquals(0, fruit.getRegrowTime());
+        assertEquals(1, fruit.renderer().getOpaqueness());
+        assertEquals(0, worldState.getChangeCount());
+    }
+}
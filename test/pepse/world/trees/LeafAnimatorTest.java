@@ -0,0 +1,128 @@
+package pepse.world.trees;
+
+import danogl.GameObject;
+import danogl.components.Transition;
+import danogl.gui.rendering.RectangleRenderable;
+import danogl.util.Vector2;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests that the animator sways and spins the leaves as the transitions attached to every leaf
+ * used to: a back and forth sway in the wind, and a single spin some time after a jump, with
+ * jumps that come while a spin is on its way merged into it.
+ */
+class LeafAnimatorTest {
+    private static final float DELTA_TIME = 1f / 60;
+    private static final int LEAF_SIZE = 15;
+    private static final float SWAY_ANGLE = 10;
+    private static final float SWAY_SECONDS = 2;
+    private static final float SPIN_ANGLE = 90;
+    private static final float SPIN_SECONDS = 1;
+    private static final float MAX_SPIN_DELAY = 0.8f;
+    private static final float SPIN_DELAY = 0.5f;
+    private static final int JUMPS = 10;
+    private static final float OVERLAPPING_JUMP_SECONDS = 1.2f;
+    private static final float ANGLE_TOLERANCE = 0.01f;
+    private static final float TEST_SECONDS = 6;
+
+    @Test
+    void leafSwaysAsTheWindTransitionDid() {
+        LeafAnimator animator = new LeafAnimator();
+        Leaf leaf = newLeaf();
+        animator.add(leaf, 0);
+        GameObject swayed = swayedLikeBefore();
+
+        for (float time = 0; time < TEST_SECONDS; time += DELTA_TIME) {
+            update(animator, leaf, swayed);
+            assertEquals(swayed.renderer().getRenderableAngle(),
+                    leaf.renderer().getRenderableAngle(), ANGLE_TOLERANCE, "at " + time);
+        }
+    }
+
+    @Test
+    void jumpSpinsTheLeafOnceAsTheJumpTransitionDid() {
+        assertSingleSpin(0);
+    }
+
+    @Test
+    void overlappingJumpsMergeIntoOneSpin() {
+        // Jumps go on until the spin of the first one is well under way
+        assertSingleSpin(OVERLAPPING_JUMP_SECONDS);
+    }
+
+    @Test
+    void jumpsOfTheSameFrameSpinOnceAndTheSpinEnds() {
+        LeafAnimator animator = new LeafAnimator();
+        Leaf leaf = newLeaf();
+        animator.add(leaf, 0);
+
+        for (int i = 0; i < JUMPS; i++) {
+            leaf.onJump();
+        }
+        assertEquals(1, animator.getSpinCount());
+        for (float time = 0; time < MAX_SPIN_DELAY + SPIN_SECONDS + DELTA_TIME;
+             time += DELTA_TIME) {
+            animator.update(DELTA_TIME, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
+        }
+
+        assertEquals(0, animator.getSpinCount());
+    }
+
+    /**
+     * Spins a leaf on the first frame and on every frame until a given time, and checks that
+     * it spins once, for the first jump, with the angle and size the jump transition gave it,
+     * and sways in between.
+     */
+    private static void assertSingleSpin(float jumpingSeconds) {
+        LeafAnimator animator = new LeafAnimator();
+        Leaf leaf = newLeaf();
+        animator.add(leaf, 0);
+        GameObject swayed = swayedLikeBefore();
+
+        double time = 0;
+        while (time < TEST_SECONDS) {
+            if (time <= jumpingSeconds) {
+                animator.spin(leaf, SPIN_DELAY);
+            }
+            update(animator, leaf, swayed);
+            time += DELTA_TIME;
+            double spinElapsed = time - SPIN_DELAY;
+            float expected = spinElapsed >= 0 && spinElapsed < SPIN_SECONDS ?
+                    Transition.CUBIC_INTERPOLATOR_FLOAT.interpolate(0f, SPIN_ANGLE,
+                            (float) spinElapsed / SPIN_SECONDS) :
+                    swayed.renderer().getRenderableAngle();
+            assertEquals(expected, leaf.renderer().getRenderableAngle(), ANGLE_TOLERANCE,
+                    "at " + time);
+            assertEquals(spinElapsed < SPIN_SECONDS ? 1 : 0, animator.getSpinCount(),
+                    "at " + time);
+            assertEquals(new Vector2(LEAF_SIZE, LEAF_SIZE), leaf.getDimensions());
+        }
+    }
+
+    private static Leaf newLeaf() {
+        return new Leaf(new RectangleRenderable(Color.GREEN), 0, 0, LEAF_SIZE);
+    }
+
+    /**
+     * Creates an object that sways in the wind the way every leaf used to, through a transition
+     * of its own.
+     */
+    private static GameObject swayedLikeBefore() {
+        GameObject swayed = new GameObject(Vector2.ZERO, Vector2.ONES,
+                new RectangleRenderable(Color.GREEN));
+        new Transition<>(swayed, swayed.renderer()::setRenderableAngle, 0f, SWAY_ANGLE,
+                Transition.CUBIC_INTERPOLATOR_FLOAT, SWAY_SECONDS,
+                Transition.TransitionType.TRANSITION_BACK_AND_FORTH, null);
+        return swayed;
+    }
+
+    private static void update(LeafAnimator animator, Leaf leaf, GameObject swayed) {
+        leaf.update(DELTA_TIME);
+        animator.update(DELTA_TIME, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY);
+        swayed.update(DELTA_TIME);
+    }
+}
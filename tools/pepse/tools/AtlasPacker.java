@@ -0,0 +1,126 @@
+package pepse.tools;
+
+import pepse.util.SpriteAtlas;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Packs the animation frames of a folder into a {@link SpriteAtlas}. Frames are the images named
+ * NAME_NUMBER.png; the frames of each name are put in a row of their own, in the order of their
+ * numbers. The build runs it before processing the game's resources, so the atlas is generated
+ * from the frames and never committed:
+ * <pre>
+ *     ./gradlew packAtlas
+ * </pre>
+ * By default the frames of the assets folder are packed into
+ * build/generated/resources/atlas/assets/avatar_atlas, which puts the atlas on the game's
+ * classpath as assets/avatar_atlas.
+ */
+public class AtlasPacker {
+    private static final String DEFAULT_FOLDER = "assets";
+    private static final String DEFAULT_ATLAS =
+            "build/generated/resources/atlas/assets/avatar_atlas";
+    private static final String IMAGE_FORMAT = "png";
+    private static final Pattern FRAME_NAME = Pattern.compile("([a-z]+)_(\\d+)\\.png");
+    private static final String INDEX_HEADER = SpriteAtlas.COMMENT_PREFIX +
+            " Generated by pepse.tools.AtlasPacker. NAME X Y WIDTH HEIGHT";
+
+    /**
+     * Packs the frames
+     * @param args the folder of the frames and the path of the atlas, without an extension,
+     *             both optional. The folder of the atlas is created if needed.
+     * @throws IOException if a frame cannot be read or the atlas cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        File folder = new File(args.length > 0 ? args[0] : DEFAULT_FOLDER);
+        String atlas = args.length > 1 ? args[1] : DEFAULT_ATLAS;
+        Map<String, Map<Integer, File>> rows = findFrames(folder);
+        File atlasFolder = new File(atlas).getAbsoluteFile().getParentFile();
+        if (!atlasFolder.isDirectory() && !atlasFolder.mkdirs()) {
+            throw new IOException("Cannot create " + atlasFolder);
+        }
+
+        int width = 0;
+        int height = 0;
+        List<List<BufferedImage>> images = new ArrayList<>();
+        for (Map<Integer, File> row : rows.values()) {
+            List<BufferedImage> rowImages = new ArrayList<>();
+            int rowWidth = 0;
+            int rowHeight = 0;
+            for (File file : row.values()) {
+                BufferedImage image = ImageIO.read(file);
+                if (image == null) {
+                    throw new IOException("Unsupported image format " + file);
+                }
+                rowImages.add(image);
+                rowWidth += image.getWidth();
+                rowHeight = Math.max(rowHeight, image.getHeight());
+            }
+            images.add(rowImages);
+            width = Math.max(width, rowWidth);
+            height += rowHeight;
+        }
+
+        BufferedImage sheet = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = sheet.createGraphics();
+        // Copy the pixels as they are, instead of blending them onto the empty sheet
+        graphics.setComposite(AlphaComposite.Src);
+        try (PrintWriter index = new PrintWriter(atlas + SpriteAtlas.INDEX_EXTENSION)) {
+            index.println(INDEX_HEADER);
+            int y = 0;
+            int rowIndex = 0;
+            for (Map.Entry<String, Map<Integer, File>> row : rows.entrySet()) {
+                List<BufferedImage> rowImages = images.get(rowIndex++);
+                int x = 0;
+                int rowHeight = 0;
+                int frame = 0;
+                for (Integer number : row.getValue().keySet()) {
+                    BufferedImage image = rowImages.get(frame++);
+                    graphics.drawImage(image, x, y, null);
+                    index.printf("%s_%d %d %d %d %d%n", row.getKey(), number, x, y,
+                            image.getWidth(), image.getHeight());
+                    x += image.getWidth();
+                    rowHeight = Math.max(rowHeight, image.getHeight());
+                }
+                y += rowHeight;
+            }
+        } finally {
+            graphics.dispose();
+        }
+        ImageIO.write(sheet, IMAGE_FORMAT, new File(atlas + SpriteAtlas.IMAGE_EXTENSION));
+    }
+
+    /**
+     * Finds the frames of a folder, grouped by name and sorted by number
+     * @param folder the folder
+     * @return the frame files of every name
+     * @throws IOException if the folder cannot be listed
+     */
+    private static Map<String, Map<Integer, File>> findFrames(File folder) throws IOException {
+        File[] files = folder.listFiles();
+        if (files == null) {
+            throw new IOException("Cannot list " + folder);
+        }
+        Map<String, Map<Integer, File>> rows = new TreeMap<>();
+        for (File file : files) {
+            Matcher matcher = FRAME_NAME.matcher(file.getName());
+            if (matcher.matches()) {
+                rows.computeIfAbsent(matcher.group(1), name -> new TreeMap<>())
+                        .put(Integer.parseInt(matcher.group(2)), file);
+            }
+        }
+        return rows;
+    }
+}